@@ -0,0 +1,26 @@
+package com.company.leave_management_system.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Transactions served by the replica bypass the second-level cache: a lagging replica could
+ * otherwise put back rows that a committed write has just invalidated. CacheMode.GET is not
+ * enough, Hibernate 6.3 still stores query results read under it.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        entityManager.unwrap(Session.class).setCacheMode(
+                ReplicaRoutingDataSource.usesReplica(definition.isReadOnly()) ? CacheMode.IGNORE : CacheMode.NORMAL);
+        return transactionData;
+    }
+}
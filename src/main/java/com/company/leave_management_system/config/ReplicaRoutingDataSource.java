@@ -0,0 +1,53 @@
+package com.company.leave_management_system.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the target is picked once the transaction's
+ * read-only flag is known. Within a request, once a read-write transaction has taken a connection
+ * later reads stay on the primary, so they see that request's own writes despite replication lag.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    /** Null outside a request; true once the request has opened a read-write transaction */
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static void beginRequest() {
+        PINNED_TO_PRIMARY.set(Boolean.FALSE);
+    }
+
+    public static void endRequest() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Whether a transaction with the given read-only flag would be served by the replica
+     */
+    public static boolean usesReplica(boolean readOnly) {
+        return readOnly && !Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly && PINNED_TO_PRIMARY.get() != null) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        }
+        return usesReplica(readOnly) ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.leave_management_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration to enable @Scheduled housekeeping jobs
+ * (e.g. purging expired idempotency keys)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
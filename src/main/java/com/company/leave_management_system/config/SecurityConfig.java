@@ -1,5 +1,6 @@
 package com.company.leave_management_system.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -46,6 +47,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of streamed responses (already authorized on the original request)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
@@ -55,6 +59,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/holidays/**").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers("/api/leaves/*/approve").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers("/api/leaves/*/reject").hasAnyRole("ADMIN", "MANAGER")
+                        .requestMatchers("/api/leaves/approve", "/api/leaves/reject").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers("/api/leaves").hasAnyRole("ADMIN", "MANAGER", "EMPLOYEE")
 
                         // Authenticated endpoints
@@ -0,0 +1,34 @@
+package com.company.leave_management_system.controller;
+
+import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.SecondLevelCacheStatsDTO;
+import com.company.leave_management_system.service.SecondLevelCacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Cache statistics")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheController {
+
+    private final SecondLevelCacheStatsService secondLevelCacheStatsService;
+
+    @GetMapping("/second-level")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Second-level cache statistics", description = "Size, hit/miss counts and hit ratio per region")
+    public ResponseEntity<ApiResponse<List<SecondLevelCacheStatsDTO>>> getSecondLevelStats() {
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully",
+                secondLevelCacheStatsService.getRegionStats()));
+    }
+}
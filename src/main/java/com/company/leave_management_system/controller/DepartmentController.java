@@ -0,0 +1,43 @@
+package com.company.leave_management_system.controller;
+
+import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.DepartmentDTO;
+import com.company.leave_management_system.service.DepartmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/departments")
+@RequiredArgsConstructor
+@Tag(name = "Departments", description = "Department reference data")
+@SecurityRequirement(name = "bearerAuth")
+public class DepartmentController {
+
+    private final DepartmentService departmentService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add department", description = "Create a new department")
+    public ResponseEntity<ApiResponse<DepartmentDTO>> createDepartment(@Valid @RequestBody DepartmentDTO dto) {
+        DepartmentDTO created = departmentService.createDepartment(dto);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Department added successfully", created));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all departments", description = "Get all departments ordered by name")
+    public ResponseEntity<ApiResponse<List<DepartmentDTO>>> getAllDepartments() {
+        List<DepartmentDTO> departments = departmentService.getAllDepartments();
+        return ResponseEntity.ok(ApiResponse.success("Departments retrieved successfully", departments));
+    }
+}
@@ -1,7 +1,15 @@
 package com.company.leave_management_system.controller;
 
 import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.BulkOnboardingRequestDTO;
+import com.company.leave_management_system.dto.BulkOnboardingResultDTO;
+import com.company.leave_management_system.dto.DepartmentChangeDTO;
 import com.company.leave_management_system.dto.EmployeeDTO;
+import com.company.leave_management_system.dto.EmployeeDirectoryEntryDTO;
+import com.company.leave_management_system.dto.EmployeeDirectoryPageDTO;
+import com.company.leave_management_system.dto.ManagerAssignmentDTO;
+import com.company.leave_management_system.service.EmployeeHierarchyService;
+import com.company.leave_management_system.service.EmployeeOnboardingService;
 import com.company.leave_management_system.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +17,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,6 +29,8 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeOnboardingService employeeOnboardingService;
+    private final EmployeeHierarchyService employeeHierarchyService;
 
     @PostMapping
     @Operation(summary = "Create new employee", description = "Creates a new employee in the system")
@@ -30,17 +41,72 @@ public class EmployeeController {
                 .body(ApiResponse.success("Employee created successfully", created));
     }
 
+    @PostMapping("/onboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk onboard employees",
+            description = "Creates users, employees and leave balances for a batch of new hires; invalid rows are reported, not fatal")
+    public ResponseEntity<ApiResponse<BulkOnboardingResultDTO>> onboardEmployees(
+            @Valid @RequestBody BulkOnboardingRequestDTO request) {
+        BulkOnboardingResultDTO result = employeeOnboardingService.onboard(request.getEmployees());
+        return ResponseEntity.ok(ApiResponse.success("Bulk onboarding completed", result));
+    }
+
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Retrieves all employees from the system")
+    @Operation(summary = "Get all employees",
+            description = "Retrieves all employees from the system, unpaged; prefer /api/employees/directory")
     public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getAllEmployees() {
         List<EmployeeDTO> employees = employeeService.getAllEmployees();
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
 
+    @GetMapping("/directory")
+    @Operation(summary = "Employee directory",
+            description = "Keyset-paged directory with prefix or fuzzy search on name, email and department")
+    public ResponseEntity<ApiResponse<EmployeeDirectoryPageDTO>> getDirectory(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String afterName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        EmployeeDirectoryPageDTO directory = employeeService.getDirectory(q, fuzzy, department, afterName, afterId, size);
+        return ResponseEntity.ok(ApiResponse.success("Employee directory retrieved successfully", directory));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get employee by ID", description = "Retrieves a specific employee by their ID")
     public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeById(@PathVariable Long id) {
         EmployeeDTO employee = employeeService.getEmployeeById(id);
         return ResponseEntity.ok(ApiResponse.success("Employee retrieved successfully", employee));
     }
+
+    @PutMapping("/{id}/department")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change department",
+            description = "Moves the employee to another department and updates the department on their leave requests")
+    public ResponseEntity<ApiResponse<Void>> changeDepartment(
+            @PathVariable Long id,
+            @Valid @RequestBody DepartmentChangeDTO request) {
+        employeeService.changeDepartment(id, request.getDepartment());
+        return ResponseEntity.ok(ApiResponse.success("Department changed successfully", null));
+    }
+
+    @GetMapping("/{id}/reports")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get reports", description = "Everyone reporting to the employee, directly or indirectly")
+    public ResponseEntity<ApiResponse<List<EmployeeDirectoryEntryDTO>>> getReports(@PathVariable Long id) {
+        List<EmployeeDirectoryEntryDTO> reports = employeeHierarchyService.getReports(id);
+        return ResponseEntity.ok(ApiResponse.success("Reports retrieved successfully", reports));
+    }
+
+    @PutMapping("/{id}/manager")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Assign manager",
+            description = "Moves the employee and their reports under a manager; a null managerId makes them top-level")
+    public ResponseEntity<ApiResponse<Void>> assignManager(
+            @PathVariable Long id,
+            @RequestBody ManagerAssignmentDTO request) {
+        employeeHierarchyService.assignManager(id, request.getManagerId());
+        return ResponseEntity.ok(ApiResponse.success("Manager assigned successfully", null));
+    }
 }
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.company.leave_management_system.controller;
 
 import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.CacheStatsDTO;
+import com.company.leave_management_system.dto.LeaveBalanceAdjustmentDTO;
 import com.company.leave_management_system.dto.LeaveBalanceDTO;
 import com.company.leave_management_system.dto.YearEndActionDTO;
+import com.company.leave_management_system.dto.YearEndRolloverJobDTO;
 import com.company.leave_management_system.service.LeaveBalanceService;
+import com.company.leave_management_system.service.YearEndRolloverService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/leave-balance")
 @RequiredArgsConstructor
@@ -22,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 public class LeaveBalanceController {
 
     private final LeaveBalanceService leaveBalanceService;
+    private final YearEndRolloverService yearEndRolloverService;
 
     @GetMapping("/employee/{employeeId}")
     @Operation(summary = "Get leave balance", description = "Get leave balance for an employee")
@@ -32,6 +42,27 @@ public class LeaveBalanceController {
         return ResponseEntity.ok(ApiResponse.success("Leave balance retrieved successfully", balance));
     }
 
+    @GetMapping("/employee/{employeeId}/as-of")
+    @Operation(summary = "Get leave balance at a point in time",
+            description = "Rebuild an employee's balance for a year as it stood at the given time")
+    public ResponseEntity<ApiResponse<LeaveBalanceDTO>> getLeaveBalanceAsOf(
+            @PathVariable Long employeeId,
+            @RequestParam Integer year,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        LeaveBalanceDTO balance = leaveBalanceService.getLeaveBalanceAsOf(employeeId, year, at);
+        return ResponseEntity.ok(ApiResponse.success("Leave balance retrieved successfully", balance));
+    }
+
+    @PostMapping("/employee/{employeeId}/adjustments")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Adjust leave balance", description = "Add or remove entitlement days for a year")
+    public ResponseEntity<ApiResponse<LeaveBalanceDTO>> adjustBalance(
+            @PathVariable Long employeeId,
+            @Valid @RequestBody LeaveBalanceAdjustmentDTO dto) {
+        LeaveBalanceDTO balance = leaveBalanceService.adjustBalance(employeeId, dto);
+        return ResponseEntity.ok(ApiResponse.success("Leave balance adjusted successfully", balance));
+    }
+
     @PostMapping("/employee/{employeeId}/year-end")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Process year-end action",
@@ -42,4 +73,42 @@ public class LeaveBalanceController {
         leaveBalanceService.processYearEndAction(employeeId, dto);
         return ResponseEntity.ok(ApiResponse.success("Year-end action processed successfully", null));
     }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Leave balance cache statistics", description = "Size, hit/miss counts and evictions")
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully",
+                leaveBalanceService.getCacheStats()));
+    }
+
+    @PostMapping("/provision")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Provision leave balances",
+            description = "Create the default balance of a year for every employee that has none")
+    public ResponseEntity<ApiResponse<Integer>> provisionYear(@RequestParam Integer year) {
+        int created = leaveBalanceService.provisionYear(year);
+        return ResponseEntity.ok(ApiResponse.success("Leave balances provisioned successfully", created));
+    }
+
+    @PostMapping("/year-end/rollover")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start year-end rollover",
+            description = "Roll every balance of a year into the next (default: carry forward). Resumes a failed run.")
+    public ResponseEntity<ApiResponse<YearEndRolloverJobDTO>> startRollover(
+            @RequestParam Integer year,
+            Authentication authentication) {
+        YearEndRolloverJobDTO job = yearEndRolloverService.startRollover(year, authentication.getName());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Year-end rollover started", job));
+    }
+
+    @GetMapping("/year-end/rollover/{year}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Year-end rollover progress", description = "Get status and progress of a year's rollover")
+    public ResponseEntity<ApiResponse<YearEndRolloverJobDTO>> getRollover(@PathVariable Integer year) {
+        YearEndRolloverJobDTO job = yearEndRolloverService.getRollover(year);
+        return ResponseEntity.ok(ApiResponse.success("Year-end rollover retrieved successfully", job));
+    }
 }
\ No newline at end of file
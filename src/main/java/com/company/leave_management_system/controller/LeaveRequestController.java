@@ -1,9 +1,16 @@
 package com.company.leave_management_system.controller;
 
 import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.BulkLeaveActionDTO;
+import com.company.leave_management_system.dto.BulkLeaveResultDTO;
+import com.company.leave_management_system.dto.LeaveImportResultDTO;
 import com.company.leave_management_system.dto.LeaveRequestDTO;
 import com.company.leave_management_system.dto.LeaveResponseDTO;
+import com.company.leave_management_system.enums.ExportFormat;
 import com.company.leave_management_system.enums.LeaveStatus;
+import com.company.leave_management_system.service.IdempotencyService;
+import com.company.leave_management_system.service.LeaveExportService;
+import com.company.leave_management_system.service.LeaveImportService;
 import com.company.leave_management_system.service.LeaveRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,10 +22,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/leaves")
@@ -29,12 +46,18 @@ import org.springframework.web.bind.annotation.*;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final IdempotencyService idempotencyService;
+    private final LeaveExportService leaveExportService;
+    private final LeaveImportService leaveImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Apply for leave", description = "Submit a new leave request")
-    public ResponseEntity<ApiResponse<LeaveResponseDTO>> applyLeave(@Valid @RequestBody LeaveRequestDTO dto) {
-        LeaveResponseDTO response = leaveRequestService.applyLeave(dto);
+    public ResponseEntity<ApiResponse<LeaveResponseDTO>> applyLeave(
+            @Valid @RequestBody LeaveRequestDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        LeaveResponseDTO response = idempotencyService.execute(idempotencyKey, "APPLY_LEAVE", dto,
+                LeaveResponseDTO.class, () -> leaveRequestService.applyLeave(dto));
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Leave request submitted successfully", response));
@@ -47,12 +70,45 @@ public class LeaveRequestController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(required = false) LeaveStatus status) {
+            @RequestParam(required = false) LeaveStatus status,
+            @RequestParam(required = false) String department) {
 
-        Page<LeaveResponseDTO> leaves = leaveRequestService.getAllLeaves(page, size, sortBy, status);
+        Page<LeaveResponseDTO> leaves = leaveRequestService.getAllLeaves(page, size, sortBy, status, department);
         return ResponseEntity.ok(ApiResponse.success("Leaves retrieved successfully", leaves));
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export leaves", description = "Stream leave requests as CSV or NDJSON for payroll")
+    public ResponseEntity<StreamingResponseBody> exportLeaves(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) LeaveStatus status) {
+
+        boolean csv = format == ExportFormat.CSV;
+        StreamingResponseBody body = out -> leaveExportService.export(out, format, from, to, department, status);
+
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"leaves." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import leave history",
+            description = "Bulk import historical leave records from CSV (no notifications or emails)")
+    public ResponseEntity<ApiResponse<LeaveImportResultDTO>> importLeaves(
+            @RequestParam("file") MultipartFile file) throws IOException {
+        LeaveImportResultDTO result = leaveImportService.importCsv(file.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success("Leave import finished", result));
+    }
+
     @GetMapping("/employee/{employeeId}")
     @Operation(summary = "Get leaves by employee", description = "Get leave requests for a specific employee")
     public ResponseEntity<ApiResponse<Page<LeaveResponseDTO>>> getLeavesByEmployee(
@@ -75,24 +131,51 @@ public class LeaveRequestController {
     @PutMapping("/{id}/approve")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Approve leave", description = "Approve a pending leave request")
-    public ResponseEntity<ApiResponse<LeaveResponseDTO>> approveLeave(@PathVariable Long id) {
-        LeaveResponseDTO approved = leaveRequestService.approveLeave(id);
+    public ResponseEntity<ApiResponse<LeaveResponseDTO>> approveLeave(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        LeaveResponseDTO approved = idempotencyService.execute(idempotencyKey, "APPROVE_LEAVE", id,
+                LeaveResponseDTO.class, () -> leaveRequestService.approveLeave(id));
         return ResponseEntity.ok(ApiResponse.success("Leave approved successfully", approved));
     }
 
     @PutMapping("/{id}/reject")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Reject leave", description = "Reject a pending leave request")
-    public ResponseEntity<ApiResponse<LeaveResponseDTO>> rejectLeave(@PathVariable Long id) {
-        LeaveResponseDTO rejected = leaveRequestService.rejectLeave(id);
+    public ResponseEntity<ApiResponse<LeaveResponseDTO>> rejectLeave(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        LeaveResponseDTO rejected = idempotencyService.execute(idempotencyKey, "REJECT_LEAVE", id,
+                LeaveResponseDTO.class, () -> leaveRequestService.rejectLeave(id));
         return ResponseEntity.ok(ApiResponse.success("Leave rejected successfully", rejected));
     }
 
+    @PutMapping("/approve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Approve leaves", description = "Approve several pending leave requests at once")
+    public ResponseEntity<ApiResponse<List<BulkLeaveResultDTO>>> approveLeaves(
+            @Valid @RequestBody BulkLeaveActionDTO dto) {
+        List<BulkLeaveResultDTO> results = leaveRequestService.approveLeaves(dto.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Bulk approval processed", results));
+    }
+
+    @PutMapping("/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Reject leaves", description = "Reject several pending leave requests at once")
+    public ResponseEntity<ApiResponse<List<BulkLeaveResultDTO>>> rejectLeaves(
+            @Valid @RequestBody BulkLeaveActionDTO dto) {
+        List<BulkLeaveResultDTO> results = leaveRequestService.rejectLeaves(dto.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Bulk rejection processed", results));
+    }
+
     @PutMapping("/{id}/cancel")
     @PreAuthorize("hasRole('EMPLOYEE')")
     @Operation(summary = "Cancel leave", description = "Cancel own leave request")
-    public ResponseEntity<ApiResponse<LeaveResponseDTO>> cancelLeave(@PathVariable Long id) {
-        LeaveResponseDTO cancelled = leaveRequestService.cancelLeave(id);
+    public ResponseEntity<ApiResponse<LeaveResponseDTO>> cancelLeave(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        LeaveResponseDTO cancelled = idempotencyService.execute(idempotencyKey, "CANCEL_LEAVE", id,
+                LeaveResponseDTO.class, () -> leaveRequestService.cancelLeave(id));
         return ResponseEntity.ok(ApiResponse.success("Leave cancelled successfully", cancelled));
     }
 }
\ No newline at end of file
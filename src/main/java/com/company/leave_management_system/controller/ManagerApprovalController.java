@@ -1,16 +1,16 @@
 package com.company.leave_management_system.controller;
 
 import com.company.leave_management_system.dto.ApiResponse;
+import com.company.leave_management_system.dto.BulkManagerActionDTO;
+import com.company.leave_management_system.dto.BulkManagerResultDTO;
 import com.company.leave_management_system.dto.ManagerApprovalDTO;
 import com.company.leave_management_system.service.ManagerApprovalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -35,8 +35,7 @@ public class ManagerApprovalController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
-        Page<ManagerApprovalDTO> managers = managerApprovalService.getPendingManagers(pageable);
+        Page<ManagerApprovalDTO> managers = managerApprovalService.getPendingManagers(page, size, sortBy);
         return ResponseEntity.ok(ApiResponse.success("Pending managers retrieved", managers));
     }
 
@@ -51,8 +50,7 @@ public class ManagerApprovalController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
-        Page<ManagerApprovalDTO> managers = managerApprovalService.getAllManagers(pageable);
+        Page<ManagerApprovalDTO> managers = managerApprovalService.getAllManagers(page, size, sortBy);
         return ResponseEntity.ok(ApiResponse.success("All managers retrieved", managers));
     }
 
@@ -81,4 +79,30 @@ public class ManagerApprovalController {
         managerApprovalService.rejectManager(managerId);
         return ResponseEntity.ok(ApiResponse.<Void>success("Manager rejected - approval permissions removed"));
     }
+
+    /**
+     * Approve several managers at once
+     */
+    @PutMapping("/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk approve managers", description = "Approve up to 500 pending managers in one request")
+    public ResponseEntity<ApiResponse<BulkManagerResultDTO>> approveManagers(
+            @Valid @RequestBody BulkManagerActionDTO dto
+    ) {
+        BulkManagerResultDTO result = managerApprovalService.approveManagers(dto.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Managers approved", result));
+    }
+
+    /**
+     * Revoke the approval of several managers at once
+     */
+    @PutMapping("/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk reject managers", description = "Revoke approval of up to 500 managers in one request")
+    public ResponseEntity<ApiResponse<BulkManagerResultDTO>> rejectManagers(
+            @Valid @RequestBody BulkManagerActionDTO dto
+    ) {
+        BulkManagerResultDTO result = managerApprovalService.rejectManagers(dto.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Manager approvals revoked", result));
+    }
 }
\ No newline at end of file
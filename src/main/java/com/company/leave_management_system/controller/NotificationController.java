@@ -1,8 +1,6 @@
 package com.company.leave_management_system.controller;
 
-import com.company.leave_management_system.entity.Notification;
-import com.company.leave_management_system.entity.User;
-import com.company.leave_management_system.repository.UserRepository;
+import com.company.leave_management_system.dto.NotificationDTO;
 import com.company.leave_management_system.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -16,20 +14,15 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository; // ✅ use repository instead
 
     @GetMapping
-    public List<Notification> getMyNotifications(Principal principal) {
-        User user = userRepository.findByUsername(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationService.getUserNotifications(user);
+    public List<NotificationDTO> getMyNotifications(Principal principal) {
+        return notificationService.getUserNotifications(principal.getName());
     }
 
     @GetMapping("/unread-count")
     public Long getUnreadCount(Principal principal) {
-        User user = userRepository.findByUsername(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationService.getUnreadCount(user);
+        return notificationService.getUnreadCount(principal.getName());
     }
 
     @PutMapping("/{id}/read")
@@ -0,0 +1,19 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLeaveActionDTO {
+
+    @NotEmpty(message = "At least one leave id is required")
+    @Size(max = 200, message = "At most 200 leaves can be processed at once")
+    private List<Long> ids;
+}
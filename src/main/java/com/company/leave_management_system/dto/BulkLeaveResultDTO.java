@@ -0,0 +1,22 @@
+package com.company.leave_management_system.dto;
+
+import com.company.leave_management_system.enums.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one leave in a bulk approve/reject call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkLeaveResultDTO {
+
+    private Long id;
+    private boolean success;
+    private LeaveStatus status;
+    private String message;
+}
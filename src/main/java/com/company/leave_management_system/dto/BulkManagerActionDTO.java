@@ -0,0 +1,19 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkManagerActionDTO {
+
+    @NotEmpty(message = "At least one manager id is required")
+    @Size(max = 500, message = "At most 500 managers can be processed at once")
+    private List<Long> ids;
+}
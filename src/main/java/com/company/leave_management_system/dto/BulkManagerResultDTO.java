@@ -0,0 +1,25 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkManagerResultDTO {
+
+    /**
+     * Managers whose approval changed
+     */
+    private List<Long> updatedIds;
+
+    /**
+     * Ids that are not managers or were already in the requested state
+     */
+    private List<Long> skippedIds;
+}
@@ -0,0 +1,23 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A batch of new hires to onboard. Rows are validated individually so one bad
+ * row does not reject the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOnboardingRequestDTO {
+
+    @NotEmpty(message = "At least one employee is required")
+    @Size(max = 5000, message = "At most 5000 employees can be onboarded per request")
+    private List<RegisterRequestDTO> employees;
+}
@@ -0,0 +1,24 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk onboarding request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOnboardingResultDTO {
+
+    private int totalRows;
+    private int created;
+    private int failed;
+    private List<OnboardingErrorDTO> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,18 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * New department for an employee; null or blank clears it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentChangeDTO {
+
+    @Size(max = 50, message = "Department must be at most 50 characters")
+    private String department;
+}
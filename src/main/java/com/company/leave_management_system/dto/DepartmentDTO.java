@@ -0,0 +1,19 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentDTO {
+
+    private Integer id;
+
+    @NotBlank(message = "Department name is required")
+    @Size(max = 50, message = "Department name must be at most 50 characters")
+    private String name;
+}
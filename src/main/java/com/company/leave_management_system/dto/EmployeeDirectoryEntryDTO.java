@@ -0,0 +1,16 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDirectoryEntryDTO {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String department;
+}
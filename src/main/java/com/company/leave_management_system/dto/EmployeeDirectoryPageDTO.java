@@ -0,0 +1,24 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the employee directory. Pass nextAfterName/nextAfterId
+ * back as afterName/afterId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDirectoryPageDTO {
+
+    private List<EmployeeDirectoryEntryDTO> items;
+    private boolean hasMore;
+    private String nextAfterName;
+    private Long nextAfterId;
+}
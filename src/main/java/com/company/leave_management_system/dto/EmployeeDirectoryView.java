@@ -0,0 +1,15 @@
+package com.company.leave_management_system.dto;
+
+/**
+ * Projection of the employee columns shown in the directory; never joins users
+ */
+public interface EmployeeDirectoryView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    Integer getDepartmentId();
+}
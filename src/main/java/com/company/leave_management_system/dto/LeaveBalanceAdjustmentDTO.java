@@ -0,0 +1,31 @@
+package com.company.leave_management_system.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceAdjustmentDTO {
+
+    @NotNull(message = "Year is required")
+    private Integer year;
+
+    /**
+     * Days added to (positive) or removed from (negative) the entitlement
+     */
+    @NotNull(message = "Days are required")
+    @DecimalMin(value = "-99.5", message = "Adjustment must be at least -99.5 days")
+    @DecimalMax(value = "99.5", message = "Adjustment must be at most 99.5 days")
+    private BigDecimal days;
+
+    @Size(max = 255, message = "Note must be at most 255 characters")
+    private String note;
+}
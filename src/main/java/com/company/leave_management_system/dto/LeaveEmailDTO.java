@@ -0,0 +1,39 @@
+package com.company.leave_management_system.dto;
+
+import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.LeaveDuration;
+import com.company.leave_management_system.enums.LeaveStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable snapshot of a leave request for the async email templates.
+ * Captured on the calling thread so queued emails never touch JPA entities.
+ */
+public record LeaveEmailDTO(
+        String employeeEmail,
+        String employeeName,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal workingDays,
+        LeaveDuration duration,
+        String reason,
+        LeaveStatus status,
+        String processedBy
+) {
+
+    public static LeaveEmailDTO from(LeaveRequest leave) {
+        return new LeaveEmailDTO(
+                leave.getEmployee().getEmail(),
+                leave.getEmployee().getName(),
+                leave.getStartDate(),
+                leave.getEndDate(),
+                leave.getWorkingDays(),
+                leave.getDuration(),
+                leave.getReason(),
+                leave.getStatus(),
+                leave.getProcessedBy() != null ? leave.getProcessedBy().getUsername() : null
+        );
+    }
+}
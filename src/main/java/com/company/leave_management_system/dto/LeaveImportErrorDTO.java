@@ -0,0 +1,17 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A CSV row that could not be imported
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveImportErrorDTO {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveImportResultDTO {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private int balancesRecomputed;
+    private List<LeaveImportErrorDTO> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,23 @@
+package com.company.leave_management_system.dto;
+
+import com.company.leave_management_system.enums.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the date range and status of a leave request, used to seed the timeline cache
+ */
+public interface LeaveIntervalView {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    LeaveStatus getStatus();
+
+    Boolean getAutoApproved();
+}
@@ -0,0 +1,23 @@
+package com.company.leave_management_system.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of a balance's snapshot totals plus the sum of ledger entries on top of them
+ */
+public interface LedgerSumView {
+
+    Long getBalanceId();
+
+    BigDecimal getTotalEntitlement();
+
+    BigDecimal getUsedLeaves();
+
+    BigDecimal getCarriedForward();
+
+    BigDecimal getUsedDelta();
+
+    BigDecimal getEntitlementDelta();
+
+    BigDecimal getCarriedDelta();
+}
@@ -1,10 +1,14 @@
 package com.company.leave_management_system.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ManagerApprovalDTO {
     private Long id;
     private String username;
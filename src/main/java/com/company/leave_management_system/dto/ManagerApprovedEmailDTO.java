@@ -0,0 +1,11 @@
+package com.company.leave_management_system.dto;
+
+/**
+ * Immutable payload for the email sent to a manager once an admin approves them
+ */
+public record ManagerApprovedEmailDTO(
+        String to,
+        String managerName,
+        String approvedBy
+) {
+}
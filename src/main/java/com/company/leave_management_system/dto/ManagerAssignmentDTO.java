@@ -0,0 +1,16 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * New direct manager for an employee; null removes the employee's manager
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ManagerAssignmentDTO {
+
+    private Long managerId;
+}
@@ -0,0 +1,11 @@
+package com.company.leave_management_system.dto;
+
+/**
+ * Immutable payload for the admin notification about a new manager registration
+ */
+public record ManagerRegistrationEmailDTO(
+        String to,
+        String managerName,
+        String managerEmail
+) {
+}
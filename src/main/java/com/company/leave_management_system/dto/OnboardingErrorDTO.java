@@ -0,0 +1,18 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bulk onboarding row that was not created; index is the row's position in the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingErrorDTO {
+
+    private int index;
+    private String username;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.company.leave_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecondLevelCacheStatsDTO {
+
+    private String region;
+    private Long size;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long puts;
+}
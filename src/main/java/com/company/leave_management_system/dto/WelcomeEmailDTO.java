@@ -0,0 +1,12 @@
+package com.company.leave_management_system.dto;
+
+/**
+ * Immutable payload for the welcome email sent after registration
+ */
+public record WelcomeEmailDTO(
+        String to,
+        String name,
+        String username,
+        String role
+) {
+}
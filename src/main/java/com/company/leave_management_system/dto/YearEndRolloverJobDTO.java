@@ -0,0 +1,29 @@
+package com.company.leave_management_system.dto;
+
+import com.company.leave_management_system.enums.RolloverJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class YearEndRolloverJobDTO {
+
+    private Long id;
+    private Integer year;
+    private RolloverJobStatus status;
+    private long totalBalances;
+    private long processedBalances;
+    private long defaultedBalances;
+    private double percentComplete;
+    private String lastError;
+    private String startedBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+}
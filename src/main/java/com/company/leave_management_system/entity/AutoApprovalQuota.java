@@ -0,0 +1,42 @@
+package com.company.leave_management_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-employee, per-month count of auto-approved leaves.
+ * Rows are written with atomic upserts in AutoApprovalQuotaRepository.
+ */
+@Entity
+@Table(name = "auto_approval_quota",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "year", "month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoApprovalQuota {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auto_approval_quota_seq")
+    @SequenceGenerator(name = "auto_approval_quota_seq", sequenceName = "auto_approval_quota_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(name = "used_count", nullable = false)
+    private Integer usedCount = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class EmailLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_log_seq")
+    @SequenceGenerator(name = "email_log_seq", sequenceName = "email_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
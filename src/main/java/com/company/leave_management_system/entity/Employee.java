@@ -3,19 +3,26 @@ package com.company.leave_management_system.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "employee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -28,8 +35,20 @@ public class Employee {
     @Column(nullable = false, unique = true, length = 100)
     private String email;
 
-    @Column(length = 50)
-    private String department;
+    /**
+     * Department id; names are resolved through DepartmentService
+     */
+    @Column(name = "department_id")
+    private Integer departmentId;
+
+    /**
+     * Direct manager; the full reporting chain is kept in employee_hierarchy
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "manager_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Employee manager;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,38 @@
+package com.company.leave_management_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Closure table row: ancestor is a direct or indirect manager of descendant.
+ * Rows are maintained with set-based statements in EmployeeHierarchyRepository.
+ */
+@Entity
+@Table(name = "employee_hierarchy",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"ancestor_id", "descendant_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeHierarchy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_hierarchy_seq")
+    @SequenceGenerator(name = "employee_hierarchy_seq", sequenceName = "employee_hierarchy_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    private Employee ancestor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    private Employee descendant;
+
+    /**
+     * 1 for a direct report, 2 for a report's report, and so on
+     */
+    @Column(nullable = false)
+    private Integer depth;
+}
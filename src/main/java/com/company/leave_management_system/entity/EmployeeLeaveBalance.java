@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class EmployeeLeaveBalance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_leave_balance_seq")
+    @SequenceGenerator(name = "employee_leave_balance_seq", sequenceName = "employee_leave_balance_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -46,6 +47,15 @@ public class EmployeeLeaveBalance {
     @Column(name = "year_end_action_date")
     private LocalDateTime yearEndActionDate;
 
+    @Column(name = "rolled_over_at")
+    private LocalDateTime rolledOverAt;
+
+    /**
+     * The totals above include ledger entries created up to this time; later entries are added on read
+     */
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -56,6 +66,9 @@ public class EmployeeLeaveBalance {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (snapshotAt == null) {
+            snapshotAt = createdAt;
+        }
     }
 
     @PreUpdate
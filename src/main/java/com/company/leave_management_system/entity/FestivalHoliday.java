@@ -4,19 +4,24 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "festival_holiday")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "festival-holiday")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FestivalHoliday {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "festival_holiday_seq")
+    @SequenceGenerator(name = "festival_holiday_seq", sequenceName = "festival_holiday_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
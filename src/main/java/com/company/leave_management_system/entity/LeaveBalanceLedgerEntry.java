@@ -0,0 +1,70 @@
+package com.company.leave_management_system.entity;
+
+import com.company.leave_management_system.enums.LedgerEntryType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One append-only change to an employee's leave balance for a year.
+ * Entries are never updated; the current balance is the latest snapshot plus
+ * every entry created after it.
+ */
+@Entity
+@Table(name = "leave_balance_ledger")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_balance_ledger_seq")
+    @SequenceGenerator(name = "leave_balance_ledger_seq", sequenceName = "leave_balance_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType entryType;
+
+    /**
+     * Change to used leaves: positive for deductions, negative for restores
+     */
+    @Column(name = "used_delta", nullable = false, precision = 5, scale = 1)
+    private BigDecimal usedDelta = BigDecimal.ZERO;
+
+    /**
+     * Change to the total entitlement: carry-forward, encashment and adjustments
+     */
+    @Column(name = "entitlement_delta", nullable = false, precision = 5, scale = 1)
+    private BigDecimal entitlementDelta = BigDecimal.ZERO;
+
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId;
+
+    @Column(length = 255)
+    private String note;
+
+    @Column(name = "created_by", length = 50)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
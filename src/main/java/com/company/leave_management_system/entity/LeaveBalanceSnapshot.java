@@ -0,0 +1,45 @@
+package com.company.leave_management_system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance totals of one employee and year as of snapshotAt, written by the
+ * periodic ledger snapshot. Kept as history for point-in-time balance queries.
+ */
+@Entity
+@Table(name = "leave_balance_snapshot")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_balance_snapshot_seq")
+    @SequenceGenerator(name = "leave_balance_snapshot_seq", sequenceName = "leave_balance_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(name = "total_entitlement", nullable = false, precision = 4, scale = 1)
+    private BigDecimal totalEntitlement;
+
+    @Column(name = "used_leaves", nullable = false, precision = 4, scale = 1)
+    private BigDecimal usedLeaves;
+
+    @Column(name = "carried_forward", nullable = false, precision = 4, scale = 1)
+    private BigDecimal carriedForward;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -20,13 +20,20 @@ import java.time.LocalDateTime;
 public class LeaveRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_request_seq")
+    @SequenceGenerator(name = "leave_request_seq", sequenceName = "leave_request_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
+    /**
+     * Copy of the employee's department id, kept in sync by EmployeeService.changeDepartment
+     */
+    @Column(name = "department_id")
+    private Integer departmentId;
+
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
 
@@ -54,6 +61,9 @@ public class LeaveRequest {
     @Column(name = "half_day_type", length = 20)
     private HalfDayType halfDayType;
 
+    @Column(name = "auto_approved", nullable = false)
+    private Boolean autoApproved = false;
+
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
@@ -61,6 +71,10 @@ public class LeaveRequest {
     @JoinColumn(name = "processed_by")
     private User processedBy;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
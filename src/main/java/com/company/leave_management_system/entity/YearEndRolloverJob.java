@@ -0,0 +1,57 @@
+package com.company.leave_management_system.entity;
+
+import com.company.leave_management_system.enums.RolloverJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One year-end rollover run per year. Progress counters are incremented in the
+ * same transaction as each processed chunk, so they stay exact across restarts.
+ */
+@Entity
+@Table(name = "year_end_rollover_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class YearEndRolloverJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "year_end_rollover_job_seq")
+    @SequenceGenerator(name = "year_end_rollover_job_seq", sequenceName = "year_end_rollover_job_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RolloverJobStatus status;
+
+    @Column(name = "total_balances", nullable = false)
+    private Long totalBalances = 0L;
+
+    @Column(name = "processed_balances", nullable = false)
+    private Long processedBalances = 0L;
+
+    @Column(name = "defaulted_balances", nullable = false)
+    private Long defaultedBalances = 0L;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_by", length = 50)
+    private String startedBy;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
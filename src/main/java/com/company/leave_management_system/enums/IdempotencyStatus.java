@@ -0,0 +1,6 @@
+package com.company.leave_management_system.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,9 @@
+package com.company.leave_management_system.enums;
+
+public enum LedgerEntryType {
+    DEDUCTION,
+    RESTORE,
+    CARRY_FORWARD,
+    ENCASHMENT,
+    ADJUSTMENT
+}
@@ -0,0 +1,7 @@
+package com.company.leave_management_system.enums;
+
+public enum RolloverJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.company.leave_management_system.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.company.leave_management_system.exception;
+
+public class LeaveStateConflictException extends RuntimeException {
+    public LeaveStateConflictException(String message) {
+        super(message);
+    }
+}
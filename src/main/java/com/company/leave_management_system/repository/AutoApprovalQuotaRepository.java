@@ -0,0 +1,46 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.AutoApprovalQuota;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AutoApprovalQuotaRepository extends JpaRepository<AutoApprovalQuota, Long> {
+
+    /**
+     * Atomically take one auto-approval from the employee's monthly quota.
+     * Returns 1 if the quota had room, 0 if it is already used up.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "auto_approval_quota"))
+    @Query(value = "INSERT INTO auto_approval_quota (id, employee_id, year, month, used_count, updated_at) " +
+            "VALUES (nextval('auto_approval_quota_seq'), :employeeId, :year, :month, 1, now()) " +
+            "ON CONFLICT (employee_id, year, month) DO UPDATE " +
+            "SET used_count = auto_approval_quota.used_count + 1, updated_at = now() " +
+            "WHERE auto_approval_quota.used_count < :maxPerMonth",
+            nativeQuery = true)
+    int tryConsume(
+            @Param("employeeId") Long employeeId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("maxPerMonth") int maxPerMonth);
+
+    /**
+     * Give one auto-approval back, e.g. when an auto-approved leave is cancelled
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "auto_approval_quota"))
+    @Query(value = "UPDATE auto_approval_quota SET used_count = used_count - 1, updated_at = now() " +
+            "WHERE employee_id = :employeeId AND year = :year AND month = :month AND used_count > 0",
+            nativeQuery = true)
+    int release(
+            @Param("employeeId") Long employeeId,
+            @Param("year") int year,
+            @Param("month") int month);
+}
@@ -0,0 +1,34 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Integer> {
+
+    Optional<Department> findByName(String name);
+
+    List<Department> findAllByOrderByNameAsc();
+
+    /**
+     * Create the department unless it exists; concurrent callers with the same name do not fail
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department"))
+    @Query(value = "INSERT INTO department (id, name, created_at) " +
+            "VALUES (nextval('department_seq'), :name, :now) " +
+            "ON CONFLICT (name) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,112 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.EmployeeHierarchy;
+import com.company.leave_management_system.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeHierarchyRepository extends JpaRepository<EmployeeHierarchy, Long> {
+
+    @Query("SELECT CASE WHEN COUNT(h) > 0 THEN true ELSE false END FROM EmployeeHierarchy h " +
+            "WHERE h.ancestor.id = :ancestorId AND h.descendant.id = :descendantId")
+    boolean isAncestor(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * Everyone reporting to the employee, directly or indirectly
+     */
+    @Query("SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :ancestorId")
+    List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * Approved managers above the employee, nearest first
+     */
+    @Query("SELECT u FROM EmployeeHierarchy h JOIN h.ancestor a JOIN a.user u " +
+            "WHERE h.descendant.id = :descendantId " +
+            "AND u.role = com.company.leave_management_system.enums.Role.MANAGER " +
+            "AND u.isApproved = true " +
+            "ORDER BY h.depth")
+    List<User> findApprovers(@Param("descendantId") Long descendantId);
+
+    /**
+     * Serializes hierarchy changes so concurrent moves cannot build a cycle; reads are not blocked
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_hierarchy"))
+    @Query(value = "LOCK TABLE employee_hierarchy IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForUpdate();
+
+    /**
+     * Cut the employee's subtree (the employee and its reports) off from its current ancestors
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_hierarchy"))
+    @Query(value = "DELETE FROM employee_hierarchy " +
+            "WHERE (descendant_id = :employeeId " +
+            "OR descendant_id IN (SELECT descendant_id FROM employee_hierarchy WHERE ancestor_id = :employeeId)) " +
+            "AND ancestor_id IN (SELECT ancestor_id FROM employee_hierarchy WHERE descendant_id = :employeeId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("employeeId") Long employeeId);
+
+    /**
+     * Link the employee's subtree under the manager and all of the manager's ancestors
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_hierarchy"))
+    @Query(value = "INSERT INTO employee_hierarchy (id, ancestor_id, descendant_id, depth) " +
+            "SELECT nextval('employee_hierarchy_seq'), up.ancestor_id, down.descendant_id, up.depth + down.depth + 1 " +
+            "FROM (SELECT CAST(:managerId AS bigint) AS ancestor_id, 0 AS depth " +
+            "      UNION ALL " +
+            "      SELECT ancestor_id, depth FROM employee_hierarchy WHERE descendant_id = :managerId) up " +
+            "CROSS JOIN (SELECT CAST(:employeeId AS bigint) AS descendant_id, 0 AS depth " +
+            "      UNION ALL " +
+            "      SELECT descendant_id, depth FROM employee_hierarchy WHERE ancestor_id = :employeeId) down",
+            nativeQuery = true)
+    int attachSubtree(@Param("employeeId") Long employeeId, @Param("managerId") Long managerId);
+
+    /**
+     * New EMPLOYEE-role hires without a manager report to the oldest approved manager
+     * of their department
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee"))
+    @Query(value = "UPDATE employee e " +
+            "SET manager_id = (SELECT min(m.id) FROM employee m JOIN users mu ON mu.id = m.user_id " +
+            "                  WHERE mu.role = 'MANAGER' AND mu.is_approved AND m.department_id = e.department_id), " +
+            "updated_at = :now " +
+            "FROM users u " +
+            "WHERE u.id = e.user_id " +
+            "AND u.role = 'EMPLOYEE' " +
+            "AND e.id IN (:employeeIds) " +
+            "AND e.manager_id IS NULL " +
+            "AND e.department_id IS NOT NULL",
+            nativeQuery = true)
+    int assignDepartmentManagers(@Param("employeeIds") Collection<Long> employeeIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Closure rows for newly created employees, which have a manager but no reports yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_hierarchy"))
+    @Query(value = "INSERT INTO employee_hierarchy (id, ancestor_id, descendant_id, depth) " +
+            "SELECT nextval('employee_hierarchy_seq'), links.ancestor_id, links.descendant_id, links.depth " +
+            "FROM (SELECT e.manager_id AS ancestor_id, e.id AS descendant_id, 1 AS depth " +
+            "      FROM employee e WHERE e.id IN (:employeeIds) AND e.manager_id IS NOT NULL " +
+            "      UNION ALL " +
+            "      SELECT h.ancestor_id, e.id, h.depth + 1 " +
+            "      FROM employee e JOIN employee_hierarchy h ON h.descendant_id = e.manager_id " +
+            "      WHERE e.id IN (:employeeIds)) links " +
+            "ON CONFLICT (ancestor_id, descendant_id) DO NOTHING",
+            nativeQuery = true)
+    int linkNewEmployees(@Param("employeeIds") Collection<Long> employeeIds);
+}
@@ -1,9 +1,23 @@
 package com.company.leave_management_system.repository;
 
 import com.company.leave_management_system.entity.EmployeeLeaveBalance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +25,75 @@ public interface EmployeeLeaveBalanceRepository extends JpaRepository<EmployeeLe
 
     Optional<EmployeeLeaveBalance> findByEmployeeIdAndYear(Long employeeId, Integer year);
 
+    /**
+     * Lock an employee's balance of a year, waiting for other writers of the row
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM EmployeeLeaveBalance b WHERE b.employee.id = :employeeId AND b.year = :year")
+    Optional<EmployeeLeaveBalance> lockByEmployeeIdAndYear(
+            @Param("employeeId") Long employeeId,
+            @Param("year") Integer year);
+
     boolean existsByEmployeeIdAndYear(Long employeeId, Integer year);
+
+    List<EmployeeLeaveBalance> findByYearAndEmployeeIdIn(Integer year, Collection<Long> employeeIds);
+
+    long countByYear(Integer year);
+
+    /**
+     * Create the default balance of a year for every employee that has none.
+     * Returns the number of balances created.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_leave_balance"))
+    @Query(value = "INSERT INTO employee_leave_balance (id, employee_id, year, total_entitlement, used_leaves, " +
+            "remaining_leaves, carried_forward, snapshot_at, created_at, updated_at) " +
+            "SELECT nextval('employee_leave_balance_seq'), e.id, :year, :entitlement, 0, :entitlement, 0, :now, :now, :now " +
+            "FROM employee e " +
+            "ON CONFLICT (employee_id, year) DO NOTHING",
+            nativeQuery = true)
+    int provisionYear(
+            @Param("year") Integer year,
+            @Param("entitlement") BigDecimal entitlement,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Create the default balance of a year for those of the given employees that have none
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_leave_balance"))
+    @Query(value = "INSERT INTO employee_leave_balance (id, employee_id, year, total_entitlement, used_leaves, " +
+            "remaining_leaves, carried_forward, snapshot_at, created_at, updated_at) " +
+            "SELECT nextval('employee_leave_balance_seq'), e.id, :year, :entitlement, 0, :entitlement, 0, :now, :now, :now " +
+            "FROM employee e WHERE e.id IN (:employeeIds) " +
+            "ON CONFLICT (employee_id, year) DO NOTHING",
+            nativeQuery = true)
+    int provisionEmployees(
+            @Param("year") Integer year,
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("entitlement") BigDecimal entitlement,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Next keyset page of balance ids in a year that have not been rolled over yet
+     */
+    @Query("SELECT b.id FROM EmployeeLeaveBalance b " +
+            "WHERE b.year = :year AND b.rolledOverAt IS NULL AND b.id > :afterId " +
+            "ORDER BY b.id")
+    List<Long> findRolloverPendingIds(
+            @Param("year") Integer year,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Lock the given balances that still need rollover; rows already locked by
+     * another transaction are skipped rather than waited on, and picked up by a later pass
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM EmployeeLeaveBalance b JOIN FETCH b.employee " +
+            "WHERE b.id IN :ids AND b.rolledOverAt IS NULL")
+    List<EmployeeLeaveBalance> lockRolloverPending(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,14 +1,74 @@
 package com.company.leave_management_system.repository;
 
+import com.company.leave_management_system.dto.EmployeeDirectoryView;
 import com.company.leave_management_system.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Resolved on nearly every request; cached and invalidated by any write to employee */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     Optional<Employee> findByUserId(Long userId);
+
+    List<Employee> findByUserIdIn(Collection<Long> userIds);
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Directory page ordered by (name, id) after the given key. prefix is a lower-cased
+     * LIKE pattern matched against name, email and department name; null parameters are ignored.
+     */
+    @Query(value = "SELECT e.id AS id, e.name AS name, e.email AS email, e.department_id AS departmentId " +
+            "FROM employee e " +
+            "WHERE (CAST(:departmentId AS integer) IS NULL OR e.department_id = :departmentId) " +
+            "AND (CAST(:prefix AS text) IS NULL OR lower(e.name) LIKE :prefix " +
+            "OR lower(e.email) LIKE :prefix " +
+            "OR e.department_id IN (SELECT d.id FROM department d WHERE lower(d.name) LIKE :prefix)) " +
+            "AND (CAST(:afterName AS text) IS NULL OR (e.name, e.id) > (:afterName, :afterId)) " +
+            "ORDER BY e.name, e.id " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<EmployeeDirectoryView> findDirectoryPage(
+            @Param("departmentId") Integer departmentId,
+            @Param("prefix") String prefix,
+            @Param("afterName") String afterName,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Like findDirectoryPage, but matching by trigram similarity (pg_trgm %) to tolerate typos
+     */
+    @Query(value = "SELECT e.id AS id, e.name AS name, e.email AS email, e.department_id AS departmentId " +
+            "FROM employee e " +
+            "WHERE (CAST(:departmentId AS integer) IS NULL OR e.department_id = :departmentId) " +
+            "AND (lower(e.name) % :term OR lower(e.email) % :term " +
+            "OR e.department_id IN (SELECT d.id FROM department d WHERE lower(d.name) % :term)) " +
+            "AND (CAST(:afterName AS text) IS NULL OR (e.name, e.id) > (:afterName, :afterId)) " +
+            "ORDER BY e.name, e.id " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<EmployeeDirectoryView> findDirectoryPageFuzzy(
+            @Param("departmentId") Integer departmentId,
+            @Param("term") String term,
+            @Param("afterName") String afterName,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.company.leave_management_system.repository;
 
 import com.company.leave_management_system.entity.FestivalHoliday;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +15,29 @@ import java.util.List;
 @Repository
 public interface FestivalHolidayRepository extends JpaRepository<FestivalHoliday, Long> {
 
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
+    List<FestivalHoliday> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     List<FestivalHoliday> findByYear(Integer year);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     boolean existsByDate(LocalDate date);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     @Query("SELECT h.date FROM FestivalHoliday h WHERE h.date BETWEEN :startDate AND :endDate")
     List<LocalDate> findHolidayDatesBetween(
             @Param("startDate") LocalDate startDate,
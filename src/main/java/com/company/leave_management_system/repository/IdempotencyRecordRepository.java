@@ -0,0 +1,69 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUsernameAndIdempotencyKey(String username, String idempotencyKey);
+
+    /**
+     * Claim a key for the caller. Returns 1 if this call inserted the IN_PROGRESS row,
+     * 0 if the key already exists.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_key"))
+    @Query(value = "INSERT INTO idempotency_key (id, username, idempotency_key, operation, request_hash, " +
+            "status, created_at, expires_at) " +
+            "VALUES (nextval('idempotency_key_seq'), :username, :key, :operation, :requestHash, " +
+            "'IN_PROGRESS', :now, :expiresAt) " +
+            "ON CONFLICT (username, idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(
+            @Param("username") String username,
+            @Param("key") String key,
+            @Param("operation") String operation,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Store the response of a claimed key
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r " +
+            "SET r.status = com.company.leave_management_system.enums.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :responseBody " +
+            "WHERE r.username = :username AND r.idempotencyKey = :key")
+    int complete(
+            @Param("username") String username,
+            @Param("key") String key,
+            @Param("responseBody") String responseBody);
+
+    /**
+     * Drop a claim, e.g. when the operation failed and the client may retry
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.username = :username AND r.idempotencyKey = :key")
+    int release(@Param("username") String username, @Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,97 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.dto.LedgerSumView;
+import com.company.leave_management_system.entity.LeaveBalanceLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveBalanceLedgerRepository extends JpaRepository<LeaveBalanceLedgerEntry, Long> {
+
+    /**
+     * Each balance's snapshot totals with the sum of entries created after its snapshot,
+     * read in one statement so both sides agree on snapshotAt
+     */
+    @Query("SELECT b.id AS balanceId, " +
+            "COALESCE(b.totalEntitlement, 0) AS totalEntitlement, " +
+            "COALESCE(b.usedLeaves, 0) AS usedLeaves, " +
+            "COALESCE(b.carriedForward, 0) AS carriedForward, " +
+            "COALESCE(SUM(l.usedDelta), 0) AS usedDelta, " +
+            "COALESCE(SUM(l.entitlementDelta), 0) AS entitlementDelta, " +
+            "COALESCE(SUM(CASE WHEN l.entryType = com.company.leave_management_system.enums.LedgerEntryType.CARRY_FORWARD " +
+            "THEN l.entitlementDelta ELSE 0 END), 0) AS carriedDelta " +
+            "FROM EmployeeLeaveBalance b " +
+            "LEFT JOIN LeaveBalanceLedgerEntry l " +
+            "ON l.employee = b.employee AND l.year = b.year AND l.createdAt > b.snapshotAt " +
+            "WHERE b.id IN :balanceIds " +
+            "GROUP BY b.id, b.totalEntitlement, b.usedLeaves, b.carriedForward")
+    List<LedgerSumView> sumSinceSnapshot(@Param("balanceIds") Collection<Long> balanceIds);
+
+    /**
+     * Sum of one employee's entries for a year created in (after, until]
+     */
+    @Query("SELECT COALESCE(SUM(l.usedDelta), 0) AS usedDelta, " +
+            "COALESCE(SUM(l.entitlementDelta), 0) AS entitlementDelta, " +
+            "COALESCE(SUM(CASE WHEN l.entryType = com.company.leave_management_system.enums.LedgerEntryType.CARRY_FORWARD " +
+            "THEN l.entitlementDelta ELSE 0 END), 0) AS carriedDelta " +
+            "FROM LeaveBalanceLedgerEntry l " +
+            "WHERE l.employee.id = :employeeId AND l.year = :year " +
+            "AND l.createdAt > :after AND l.createdAt <= :until")
+    LedgerSumView sumBetween(
+            @Param("employeeId") Long employeeId,
+            @Param("year") Integer year,
+            @Param("after") LocalDateTime after,
+            @Param("until") LocalDateTime until);
+
+    /**
+     * Fold entries created up to the cutoff into employee_leave_balance and record a
+     * leave_balance_snapshot row for every balance that changed. A balance whose
+     * snapshot moved since the sums were taken is left for the next run.
+     * Returns the number of balances snapshotted.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_leave_balance"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_balance_snapshot")
+    })
+    @Query(value = "WITH tail AS (" +
+            "SELECT b.id AS balance_id, b.snapshot_at AS previous_at, " +
+            "SUM(l.used_delta) AS used_delta, " +
+            "SUM(l.entitlement_delta) AS entitlement_delta, " +
+            "SUM(CASE WHEN l.entry_type = 'CARRY_FORWARD' THEN l.entitlement_delta ELSE 0 END) AS carried_delta " +
+            "FROM employee_leave_balance b " +
+            "JOIN leave_balance_ledger l ON l.employee_id = b.employee_id AND l.year = b.year " +
+            "WHERE l.created_at > b.snapshot_at AND l.created_at <= :cutoff " +
+            "GROUP BY b.id, b.snapshot_at" +
+            "), folded AS (" +
+            "UPDATE employee_leave_balance b SET " +
+            "used_leaves = COALESCE(b.used_leaves, 0) + t.used_delta, " +
+            "total_entitlement = COALESCE(b.total_entitlement, 0) + t.entitlement_delta, " +
+            "carried_forward = COALESCE(b.carried_forward, 0) + t.carried_delta, " +
+            "remaining_leaves = COALESCE(b.total_entitlement, 0) + t.entitlement_delta " +
+            "- COALESCE(b.used_leaves, 0) - t.used_delta, " +
+            "snapshot_at = :cutoff, updated_at = :now " +
+            "FROM tail t " +
+            "WHERE b.id = t.balance_id AND b.snapshot_at = t.previous_at " +
+            "RETURNING b.employee_id, b.year, b.total_entitlement, b.used_leaves, b.carried_forward" +
+            ") " +
+            "INSERT INTO leave_balance_snapshot (id, employee_id, year, total_entitlement, used_leaves, " +
+            "carried_forward, snapshot_at) " +
+            "SELECT nextval('leave_balance_snapshot_seq'), f.employee_id, f.year, f.total_entitlement, " +
+            "f.used_leaves, f.carried_forward, :cutoff " +
+            "FROM folded f",
+            nativeQuery = true)
+    int foldIntoSnapshots(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+}
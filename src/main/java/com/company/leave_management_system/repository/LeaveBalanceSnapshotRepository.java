@@ -0,0 +1,15 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.LeaveBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceSnapshotRepository extends JpaRepository<LeaveBalanceSnapshot, Long> {
+
+    Optional<LeaveBalanceSnapshot> findFirstByEmployeeIdAndYearAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Long employeeId, Integer year, LocalDateTime at);
+}
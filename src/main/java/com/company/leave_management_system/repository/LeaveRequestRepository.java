@@ -1,16 +1,22 @@
 package com.company.leave_management_system.repository;
 
+import com.company.leave_management_system.dto.LeaveIntervalView;
 import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.entity.User;
 import com.company.leave_management_system.enums.LeaveStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -26,24 +32,151 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     Page<LeaveRequest> findByStatus(LeaveStatus status, Pageable pageable);
 
     /**
-     * NEW: Find leaves by employee's department with pagination
-     * For managers to see only their department's leaves
+     * Find leaves of a department with pagination (uses the denormalized department_id column)
      */
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.department = :department")
-    Page<LeaveRequest> findByEmployeeDepartment(
-            @Param("department") String department,
+    Page<LeaveRequest> findByDepartmentId(Integer departmentId, Pageable pageable);
+
+    /**
+     * Find leaves of a department by status; served by the (department_id, status, created_at) index
+     */
+    Page<LeaveRequest> findByDepartmentIdAndStatus(Integer departmentId, LeaveStatus status, Pageable pageable);
+
+    /**
+     * Find leaves of everyone reporting to the manager, directly or indirectly
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id IN " +
+            "(SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :managerId)")
+    Page<LeaveRequest> findByReportingManager(
+            @Param("managerId") Long managerId,
+            Pageable pageable);
+
+    /**
+     * Find leaves of the manager's reports in one department
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id IN " +
+            "(SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :managerId) " +
+            "AND lr.departmentId = :departmentId")
+    Page<LeaveRequest> findByReportingManagerAndDepartment(
+            @Param("managerId") Long managerId,
+            @Param("departmentId") Integer departmentId,
             Pageable pageable);
 
     /**
-     * NEW: Find leaves by employee's department and status with pagination
-     * For managers to see only their department's leaves filtered by status
+     * Find leaves of the manager's reports filtered by status
      */
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.department = :department AND lr.status = :status")
-    Page<LeaveRequest> findByEmployeeDepartmentAndStatus(
-            @Param("department") String department,
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id IN " +
+            "(SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :managerId) " +
+            "AND lr.status = :status")
+    Page<LeaveRequest> findByReportingManagerAndStatus(
+            @Param("managerId") Long managerId,
             @Param("status") LeaveStatus status,
             Pageable pageable);
 
+    /**
+     * Find leaves of the manager's reports in one department filtered by status
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id IN " +
+            "(SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :managerId) " +
+            "AND lr.departmentId = :departmentId AND lr.status = :status")
+    Page<LeaveRequest> findByReportingManagerAndDepartmentAndStatus(
+            @Param("managerId") Long managerId,
+            @Param("departmentId") Integer departmentId,
+            @Param("status") LeaveStatus status,
+            Pageable pageable);
+
+    /**
+     * Rewrite the denormalized department of all of an employee's leaves.
+     * The version bump makes a concurrent save of a stale copy fail instead of reverting it.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr " +
+            "SET lr.departmentId = :departmentId, lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.employee.id = :employeeId")
+    int updateDepartmentByEmployeeId(
+            @Param("employeeId") Long employeeId,
+            @Param("departmentId") Integer departmentId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Load leaves with their employee and user in one query, for bulk approve/reject
+     */
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e JOIN FETCH e.user WHERE lr.id IN :ids")
+    List<LeaveRequest> findAllWithEmployeeByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load a leave with its employee and user in one query
+     */
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e JOIN FETCH e.user WHERE lr.id = :id")
+    Optional<LeaveRequest> findWithEmployeeById(@Param("id") Long id);
+
+    /**
+     * Guarded approve/reject: only moves the leave if it is still in the expected
+     * status and, when a manager is given, belongs to one of the manager's reports.
+     * Returns the number of rows changed (0 or 1).
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr " +
+            "SET lr.status = :newStatus, lr.processedAt = :now, lr.processedBy = :processedBy, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id " +
+            "AND lr.status = :expected " +
+            "AND (:managerId IS NULL OR lr.employee.id IN " +
+            "(SELECT h.descendant.id FROM EmployeeHierarchy h WHERE h.ancestor.id = :managerId))")
+    int transition(
+            @Param("id") Long id,
+            @Param("expected") LeaveStatus expected,
+            @Param("newStatus") LeaveStatus newStatus,
+            @Param("processedBy") User processedBy,
+            @Param("now") LocalDateTime now,
+            @Param("managerId") Long managerId);
+
+    /**
+     * Guarded cancel of the employee's own PENDING leave
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr " +
+            "SET lr.status = com.company.leave_management_system.enums.LeaveStatus.CANCELLED, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id " +
+            "AND lr.employee.id = :employeeId " +
+            "AND lr.status = com.company.leave_management_system.enums.LeaveStatus.PENDING")
+    int cancelPending(
+            @Param("id") Long id,
+            @Param("employeeId") Long employeeId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Guarded cancel of the employee's own APPROVED leave that has not started yet
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr " +
+            "SET lr.status = com.company.leave_management_system.enums.LeaveStatus.CANCELLED, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id " +
+            "AND lr.employee.id = :employeeId " +
+            "AND lr.status = com.company.leave_management_system.enums.LeaveStatus.APPROVED " +
+            "AND lr.startDate > :today")
+    int cancelApprovedNotStarted(
+            @Param("id") Long id,
+            @Param("employeeId") Long employeeId,
+            @Param("today") LocalDate today,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Working days per employee of PENDING/APPROVED leaves starting within [from, to],
+     * i.e. what their balance for that period should show as used
+     */
+    @Query("SELECT lr.employee.id, SUM(lr.workingDays) FROM LeaveRequest lr " +
+            "WHERE lr.employee.id IN :employeeIds " +
+            "AND lr.status IN (com.company.leave_management_system.enums.LeaveStatus.PENDING, " +
+            "com.company.leave_management_system.enums.LeaveStatus.APPROVED) " +
+            "AND lr.startDate BETWEEN :from AND :to " +
+            "GROUP BY lr.employee.id")
+    List<Object[]> sumActiveWorkingDays(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
     /**
      * Check for overlapping leave requests
      */
@@ -61,18 +194,41 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             @Param("statuses") List<LeaveStatus> statuses);
 
     /**
-     * Count auto-approved leaves in a specific month
+     * Live auto-approved leaves starting within [from, to], what the monthly auto-approval quota counts
      */
     @Query("SELECT COUNT(lr) FROM LeaveRequest lr " +
             "WHERE lr.employee.id = :employeeId " +
-            "AND lr.status = 'APPROVED' " +
-            "AND lr.workingDays <= 2 " +
-            "AND MONTH(lr.createdAt) = :month " +
-            "AND YEAR(lr.createdAt) = :year " +
-            "AND lr.processedAt IS NOT NULL " +
-            "AND TIMESTAMPDIFF(SECOND, lr.createdAt, lr.processedAt) < 5")
-    long countAutoApprovedInMonth(
+            "AND lr.status = com.company.leave_management_system.enums.LeaveStatus.APPROVED " +
+            "AND lr.autoApproved = true " +
+            "AND lr.startDate BETWEEN :from AND :to")
+    long countAutoApproved(
+            @Param("employeeId") Long employeeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Date ranges of an employee's leaves in the given statuses, ordered by start date
+     */
+    @Query("SELECT lr.id AS id, lr.employee.id AS employeeId, lr.startDate AS startDate, lr.endDate AS endDate, " +
+            "lr.status AS status, lr.autoApproved AS autoApproved " +
+            "FROM LeaveRequest lr " +
+            "WHERE lr.employee.id = :employeeId " +
+            "AND lr.status IN :statuses " +
+            "ORDER BY lr.startDate")
+    List<LeaveIntervalView> findIntervals(
             @Param("employeeId") Long employeeId,
-            @Param("month") int month,
-            @Param("year") int year);
+            @Param("statuses") List<LeaveStatus> statuses);
+
+    /**
+     * Same as findIntervals for several employees at once
+     */
+    @Query("SELECT lr.id AS id, lr.employee.id AS employeeId, lr.startDate AS startDate, lr.endDate AS endDate, " +
+            "lr.status AS status, lr.autoApproved AS autoApproved " +
+            "FROM LeaveRequest lr " +
+            "WHERE lr.employee.id IN :employeeIds " +
+            "AND lr.status IN :statuses " +
+            "ORDER BY lr.startDate")
+    List<LeaveIntervalView> findIntervalsByEmployeeIdIn(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("statuses") List<LeaveStatus> statuses);
 }
\ No newline at end of file
@@ -1,14 +1,24 @@
 package com.company.leave_management_system.repository;
 
+import com.company.leave_management_system.dto.NotificationDTO;
 import com.company.leave_management_system.entity.Notification;
-import com.company.leave_management_system.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
+    /**
+     * A user's notifications, newest first, read straight into DTOs
+     */
+    @Query("SELECT new com.company.leave_management_system.dto.NotificationDTO(" +
+            "n.id, n.message, n.isRead, n.createdAt) " +
+            "FROM Notification n WHERE n.user.username = :username " +
+            "ORDER BY n.createdAt DESC")
+    List<NotificationDTO> findViewsByUsername(@Param("username") String username);
 
-    Long countByUserAndIsReadFalse(User user);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.username = :username AND n.isRead = false")
+    Long countUnreadByUsername(@Param("username") String username);
 }
@@ -0,0 +1,14 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Username lookups by natural id, so they are served from the second-level
+ * natural-id cache instead of running a query on every authenticated request
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,28 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * SUPPORTS keeps the unwrapped session open for the load when called outside a transaction,
+     * without making it a read-only one: this lookup fills the natural-id cache, so it stays on the primary
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
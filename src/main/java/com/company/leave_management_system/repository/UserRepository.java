@@ -1,21 +1,30 @@
 package com.company.leave_management_system.repository;
 
+import com.company.leave_management_system.dto.ManagerApprovalDTO;
 import com.company.leave_management_system.entity.User;
 import com.company.leave_management_system.enums.Role;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     boolean existsByUsername(String username);
 
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
     /**
      * NEW: Find managers by approval status
      */
@@ -25,4 +34,51 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * NEW: Find all users by role
      */
     Page<User> findByRole(Role role, Pageable pageable);
+
+    /**
+     * Users of a role with a given approval status, joined to their employee and department in one query
+     */
+    @Query(value = "SELECT new com.company.leave_management_system.dto.ManagerApprovalDTO(" +
+            "u.id, u.username, e.name, e.email, d.name, u.isApproved, u.approvedBy, u.approvedAt, u.createdAt) " +
+            "FROM User u LEFT JOIN Employee e ON e.user = u LEFT JOIN Department d ON d.id = e.departmentId " +
+            "WHERE u.role = :role AND u.isApproved = :isApproved",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isApproved = :isApproved")
+    Page<ManagerApprovalDTO> findApprovalViewsByRoleAndIsApproved(
+            @Param("role") Role role,
+            @Param("isApproved") Boolean isApproved,
+            Pageable pageable);
+
+    /**
+     * Users of a role, joined to their employee and department in one query
+     */
+    @Query(value = "SELECT new com.company.leave_management_system.dto.ManagerApprovalDTO(" +
+            "u.id, u.username, e.name, e.email, d.name, u.isApproved, u.approvedBy, u.approvedAt, u.createdAt) " +
+            "FROM User u LEFT JOIN Employee e ON e.user = u LEFT JOIN Department d ON d.id = e.departmentId " +
+            "WHERE u.role = :role",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role")
+    Page<ManagerApprovalDTO> findApprovalViewsByRole(@Param("role") Role role, Pageable pageable);
+
+    /**
+     * Lock the given users that have the role and approval status, for a bulk approval change
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids AND u.role = :role AND u.isApproved = :isApproved")
+    List<User> lockByIdInAndRoleAndIsApproved(
+            @Param("ids") Collection<Long> ids,
+            @Param("role") Role role,
+            @Param("isApproved") Boolean isApproved);
+
+    /**
+     * Set-based approval change. Bypasses @PreUpdate, so updatedAt is set explicitly.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE User u SET u.isApproved = :isApproved, u.approvedBy = :approvedBy, " +
+            "u.approvedAt = :approvedAt, u.updatedAt = :now " +
+            "WHERE u.id IN :ids")
+    int updateApproval(
+            @Param("ids") Collection<Long> ids,
+            @Param("isApproved") Boolean isApproved,
+            @Param("approvedBy") String approvedBy,
+            @Param("approvedAt") LocalDateTime approvedAt,
+            @Param("now") LocalDateTime now);
 }
\ No newline at end of file
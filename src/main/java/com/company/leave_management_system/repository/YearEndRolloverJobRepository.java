@@ -0,0 +1,49 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.entity.YearEndRolloverJob;
+import com.company.leave_management_system.enums.RolloverJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface YearEndRolloverJobRepository extends JpaRepository<YearEndRolloverJob, Long> {
+
+    Optional<YearEndRolloverJob> findByYear(Integer year);
+
+    List<YearEndRolloverJob> findByStatus(RolloverJobStatus status);
+
+    /**
+     * Add a finished chunk to the job's counters (runs in the chunk's transaction)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE YearEndRolloverJob j " +
+            "SET j.processedBalances = j.processedBalances + :processed, " +
+            "j.defaultedBalances = j.defaultedBalances + :defaulted, " +
+            "j.updatedAt = :now " +
+            "WHERE j.id = :id")
+    int addProgress(
+            @Param("id") Long id,
+            @Param("processed") long processed,
+            @Param("defaulted") long defaulted,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE YearEndRolloverJob j " +
+            "SET j.status = :status, j.lastError = :error, j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id")
+    int finish(
+            @Param("id") Long id,
+            @Param("status") RolloverJobStatus status,
+            @Param("error") String error,
+            @Param("now") LocalDateTime now);
+}
@@ -3,7 +3,9 @@ package com.company.leave_management_system.service;
 import com.company.leave_management_system.config.JwtTokenProvider;
 import com.company.leave_management_system.dto.LoginRequestDTO;
 import com.company.leave_management_system.dto.LoginResponseDTO;
+import com.company.leave_management_system.dto.ManagerRegistrationEmailDTO;
 import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.dto.WelcomeEmailDTO;
 import com.company.leave_management_system.entity.Employee;
 import com.company.leave_management_system.entity.EmployeeLeaveBalance;
 import com.company.leave_management_system.entity.User;
@@ -21,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +36,8 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final EmailService emailService; // NEW: Inject email service
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final DepartmentService departmentService;
 
     /**
      * Login - with manager approval check
@@ -118,7 +123,7 @@ public class AuthService {
         employee.setUser(savedUser);
         employee.setName(request.getName());
         employee.setEmail(request.getEmail());
-        employee.setDepartment(request.getDepartment());
+        employee.setDepartmentId(departmentService.resolveId(request.getDepartment()));
 
         Employee savedEmployee = employeeRepository.save(employee);
 
@@ -134,13 +139,15 @@ public class AuthService {
 
         leaveBalanceRepository.save(balance);
 
+        employeeHierarchyService.placeNewEmployees(List.of(savedEmployee.getId()));
+
         // NEW: Send welcome email
-        emailService.sendWelcomeEmail(
+        emailService.sendWelcomeEmail(new WelcomeEmailDTO(
                 request.getEmail(),
                 request.getName(),
                 request.getUsername(),
                 request.getRole().name()
-        );
+        ));
 
         // NEW: If manager, notify admin
         if (request.getRole() == Role.MANAGER) {
@@ -150,11 +157,11 @@ public class AuthService {
                     .findFirst()
                     .flatMap(admin -> employeeRepository.findByUserId(admin.getId()))
                     .ifPresent(adminEmployee -> {
-                        emailService.sendManagerApprovalNotification(
+                        emailService.sendManagerApprovalNotification(new ManagerRegistrationEmailDTO(
                                 adminEmployee.getEmail(),
                                 request.getName(),
                                 request.getEmail()
-                        );
+                        ));
                     });
         }
     }
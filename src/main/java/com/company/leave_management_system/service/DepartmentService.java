@@ -0,0 +1,156 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.DepartmentDTO;
+import com.company.leave_management_system.entity.Department;
+import com.company.leave_management_system.repository.DepartmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Department lookups by id and by name. Departments are never renamed or deleted,
+ * so both directions are cached for the life of the process; misses (e.g. a
+ * department created on another instance) fall through to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentService {
+
+    private final DepartmentRepository departmentRepository;
+
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        departmentRepository.findAll().forEach(this::remember);
+        log.info("Cached {} departments", namesById.size());
+    }
+
+    /**
+     * Name of the department, or null for a null id
+     */
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = namesById.get(id);
+        if (name == null) {
+            name = departmentRepository.findById(id)
+                    .map(this::rememberAfterCommit).map(Department::getName).orElse(null);
+        }
+        return name;
+    }
+
+    /**
+     * Id of an existing department, or null if the name is blank or unknown
+     */
+    public Integer findId(String name) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return null;
+        }
+        Integer id = idsByName.get(normalized);
+        if (id == null) {
+            id = departmentRepository.findByName(normalized)
+                    .map(this::rememberAfterCommit).map(Department::getId).orElse(null);
+        }
+        return id;
+    }
+
+    /**
+     * Id of the named department, creating it on first use; null for a blank name
+     */
+    @Transactional
+    public Integer resolveId(String name) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return null;
+        }
+        Integer id = idsByName.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        departmentRepository.insertIfAbsent(normalized, LocalDateTime.now());
+        return rememberAfterCommit(load(normalized)).getId();
+    }
+
+    /**
+     * resolveId for several names; keys are the names as given
+     */
+    @Transactional
+    public Map<String, Integer> resolveIds(Collection<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (String name : names) {
+            if (name != null && !ids.containsKey(name)) {
+                ids.put(name, resolveId(name));
+            }
+        }
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getAllDepartments() {
+        return departmentRepository.findAllByOrderByNameAsc().stream()
+                .map(this::remember)
+                .map(department -> new DepartmentDTO(department.getId(), department.getName()))
+                .toList();
+    }
+
+    @Transactional
+    public DepartmentDTO createDepartment(DepartmentDTO dto) {
+        String name = normalize(dto.getName());
+        if (name == null) {
+            throw new IllegalArgumentException("Department name is required");
+        }
+        if (departmentRepository.insertIfAbsent(name, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Department already exists: " + name);
+        }
+        Department department = rememberAfterCommit(load(name));
+        return new DepartmentDTO(department.getId(), department.getName());
+    }
+
+    private Department load(String name) {
+        return departmentRepository.findByName(name)
+                .orElseThrow(() -> new IllegalStateException("Department was not created: " + name));
+    }
+
+    private Department remember(Department department) {
+        namesById.put(department.getId(), department.getName());
+        idsByName.put(department.getName(), department.getId());
+        return department;
+    }
+
+    /**
+     * A department created in a transaction that rolls back must not stay cached
+     */
+    private Department rememberAfterCommit(Department department) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return remember(department);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(department);
+            }
+        });
+        return department;
+    }
+
+    private static String normalize(String name) {
+        return name == null || name.isBlank() ? null : name.trim();
+    }
+}
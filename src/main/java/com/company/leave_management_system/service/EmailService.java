@@ -1,7 +1,11 @@
 package com.company.leave_management_system.service;
 
+import com.company.leave_management_system.dto.LeaveEmailDTO;
+import com.company.leave_management_system.dto.ManagerApprovedEmailDTO;
+import com.company.leave_management_system.dto.ManagerRegistrationEmailDTO;
+import com.company.leave_management_system.dto.WelcomeEmailDTO;
 import com.company.leave_management_system.entity.EmailLog;
-import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.LeaveStatus;
 import com.company.leave_management_system.repository.EmailLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +18,8 @@ import org.springframework.stereotype.Service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -31,54 +37,78 @@ public class EmailService {
     // ==================== LEAVE REQUEST EMAILS ====================
 
     @Async
-    public void sendLeaveAppliedEmail(LeaveRequest leave) {
+    public void sendLeaveAppliedEmail(LeaveEmailDTO leave) {
         String subject = "Leave Application Submitted ✓";
         String body = buildLeaveAppliedBody(leave);
-        sendHtmlEmail(leave.getEmployee().getEmail(), subject, body);
+        sendHtmlEmail(leave.employeeEmail(), subject, body);
     }
 
     @Async
-    public void sendLeaveApprovedEmail(LeaveRequest leave) {
+    public void sendLeaveApprovedEmail(LeaveEmailDTO leave) {
         String subject = "Leave Request Approved ✅";
         String body = buildLeaveApprovedBody(leave);
-        sendHtmlEmail(leave.getEmployee().getEmail(), subject, body);
+        sendHtmlEmail(leave.employeeEmail(), subject, body);
     }
 
     @Async
-    public void sendLeaveRejectedEmail(LeaveRequest leave) {
+    public void sendLeaveRejectedEmail(LeaveEmailDTO leave) {
         String subject = "Leave Request Rejected ❌";
         String body = buildLeaveRejectedBody(leave);
-        sendHtmlEmail(leave.getEmployee().getEmail(), subject, body);
+        sendHtmlEmail(leave.employeeEmail(), subject, body);
     }
 
     @Async
-    public void sendLeaveCancelledEmail(LeaveRequest leave) {
+    public void sendLeaveCancelledEmail(LeaveEmailDTO leave) {
         String subject = "Leave Request Cancelled";
         String body = buildLeaveCancelledBody(leave);
-        sendHtmlEmail(leave.getEmployee().getEmail(), subject, body);
+        sendHtmlEmail(leave.employeeEmail(), subject, body);
     }
 
     // ==================== REGISTRATION & APPROVAL EMAILS ====================
 
     @Async
-    public void sendWelcomeEmail(String to, String name, String username, String role) {
+    public void sendWelcomeEmail(WelcomeEmailDTO email) {
         String subject = "Welcome to Leave Management System";
-        String body = buildWelcomeEmailBody(name, username, role);
-        sendHtmlEmail(to, subject, body);
+        String body = buildWelcomeEmailBody(email.name(), email.username(), email.role());
+        sendHtmlEmail(email.to(), subject, body);
     }
 
     @Async
-    public void sendManagerApprovalNotification(String to, String managerName, String managerEmail) {
+    public void sendManagerApprovalNotification(ManagerRegistrationEmailDTO email) {
         String subject = "New Manager Registration - Approval Required";
-        String body = buildManagerApprovalEmailBody(managerName, managerEmail);
-        sendHtmlEmail(to, subject, body);
+        String body = buildManagerApprovalEmailBody(email.managerName(), email.managerEmail());
+        sendHtmlEmail(email.to(), subject, body);
+    }
+
+    @Async
+    public void sendManagerApprovedEmail(ManagerApprovedEmailDTO email) {
+        String subject = "Manager Account Approved ✅";
+        String body = buildManagerApprovedEmailBody(email.managerName(), email.approvedBy());
+        sendHtmlEmail(email.to(), subject, body);
     }
 
+    /**
+     * Approval emails for a bulk approval, sent one after another on a single async task
+     */
     @Async
-    public void sendManagerApprovedEmail(String to, String managerName, String approvedBy) {
+    public void sendManagerApprovedEmails(List<ManagerApprovedEmailDTO> emails) {
         String subject = "Manager Account Approved ✅";
-        String body = buildManagerApprovedEmailBody(managerName, approvedBy);
-        sendHtmlEmail(to, subject, body);
+        for (ManagerApprovedEmailDTO email : emails) {
+            String body = buildManagerApprovedEmailBody(email.managerName(), email.approvedBy());
+            sendHtmlEmail(email.to(), subject, body);
+        }
+    }
+
+    /**
+     * Welcome emails for a bulk onboarding, sent one after another on a single async task
+     */
+    @Async
+    public void sendWelcomeEmails(List<WelcomeEmailDTO> emails) {
+        String subject = "Welcome to Leave Management System";
+        for (WelcomeEmailDTO email : emails) {
+            String body = buildWelcomeEmailBody(email.name(), email.username(), email.role());
+            sendHtmlEmail(email.to(), subject, body);
+        }
     }
 
     // ==================== EMAIL SENDING ====================
@@ -129,8 +159,8 @@ public class EmailService {
 
     // ==================== EMAIL TEMPLATES ====================
 
-    private String buildLeaveAppliedBody(LeaveRequest leave) {
-        String autoApprovalNote = leave.getStatus().name().equals("APPROVED")
+    private String buildLeaveAppliedBody(LeaveEmailDTO leave) {
+        String autoApprovalNote = leave.status() == LeaveStatus.APPROVED
                 ? "<p style='background: #d4edda; color: #155724; padding: 15px; border-radius: 8px; border-left: 4px solid #28a745;'><strong>✅ Great news!</strong> Your leave has been automatically approved based on company policy.</p>"
                 : "<p style='background: #fff3cd; color: #856404; padding: 15px; border-radius: 8px; border-left: 4px solid #ffc107;'><strong>⏳ Pending Approval:</strong> Your leave request is waiting for admin/manager approval.</p>";
 
@@ -169,18 +199,18 @@ public class EmailService {
                         "</div>" +
                         "</body>" +
                         "</html>",
-                leave.getEmployee().getName(),
-                leave.getStartDate(),
-                leave.getEndDate(),
-                leave.getWorkingDays(),
-                leave.getDuration(),
-                leave.getReason(),
-                leave.getStatus(),
+                leave.employeeName(),
+                leave.startDate(),
+                leave.endDate(),
+                leave.workingDays(),
+                leave.duration(),
+                leave.reason(),
+                leave.status(),
                 autoApprovalNote
         );
     }
 
-    private String buildLeaveApprovedBody(LeaveRequest leave) {
+    private String buildLeaveApprovedBody(LeaveEmailDTO leave) {
         return String.format(
                 "<!DOCTYPE html>" +
                         "<html>" +
@@ -218,15 +248,15 @@ public class EmailService {
                         "</div>" +
                         "</body>" +
                         "</html>",
-                leave.getEmployee().getName(),
-                leave.getStartDate(),
-                leave.getEndDate(),
-                leave.getWorkingDays(),
-                leave.getProcessedBy() != null ? leave.getProcessedBy().getUsername() : "System"
+                leave.employeeName(),
+                leave.startDate(),
+                leave.endDate(),
+                leave.workingDays(),
+                leave.processedBy() != null ? leave.processedBy() : "System"
         );
     }
 
-    private String buildLeaveRejectedBody(LeaveRequest leave) {
+    private String buildLeaveRejectedBody(LeaveEmailDTO leave) {
         return String.format(
                 "<!DOCTYPE html>" +
                         "<html>" +
@@ -264,15 +294,15 @@ public class EmailService {
                         "</div>" +
                         "</body>" +
                         "</html>",
-                leave.getEmployee().getName(),
-                leave.getStartDate(),
-                leave.getEndDate(),
-                leave.getWorkingDays(),
-                leave.getProcessedBy() != null ? leave.getProcessedBy().getUsername() : "System"
+                leave.employeeName(),
+                leave.startDate(),
+                leave.endDate(),
+                leave.workingDays(),
+                leave.processedBy() != null ? leave.processedBy() : "System"
         );
     }
 
-    private String buildLeaveCancelledBody(LeaveRequest leave) {
+    private String buildLeaveCancelledBody(LeaveEmailDTO leave) {
         return String.format(
                 "<!DOCTYPE html>" +
                         "<html>" +
@@ -305,10 +335,10 @@ public class EmailService {
                         "</div>" +
                         "</body>" +
                         "</html>",
-                leave.getEmployee().getName(),
-                leave.getStartDate(),
-                leave.getEndDate(),
-                leave.getWorkingDays()
+                leave.employeeName(),
+                leave.startDate(),
+                leave.endDate(),
+                leave.workingDays()
         );
     }
 
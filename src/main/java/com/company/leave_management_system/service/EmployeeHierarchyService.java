@@ -0,0 +1,115 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.EmployeeDirectoryEntryDTO;
+import com.company.leave_management_system.entity.Employee;
+import com.company.leave_management_system.entity.User;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.exception.ResourceNotFoundException;
+import com.company.leave_management_system.repository.EmployeeHierarchyRepository;
+import com.company.leave_management_system.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reporting hierarchy backed by the employee_hierarchy closure table.
+ * "Who can approve for X" and "all reports under Y" are single indexed lookups;
+ * moving an employee rewrites only the links between its subtree and its ancestors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeHierarchyService {
+
+    private final EmployeeHierarchyRepository hierarchyRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentService departmentService;
+
+    /**
+     * Ids of everyone reporting to the employee, directly or indirectly
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getReportIds(Long managerEmployeeId) {
+        return hierarchyRepository.findDescendantIds(managerEmployeeId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isReport(Long managerEmployeeId, Long employeeId) {
+        return hierarchyRepository.isAncestor(managerEmployeeId, employeeId);
+    }
+
+    /**
+     * Approved managers in the employee's reporting chain, nearest first
+     */
+    @Transactional(readOnly = true)
+    public List<User> getApprovers(Long employeeId) {
+        return hierarchyRepository.findApprovers(employeeId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeDirectoryEntryDTO> getReports(Long managerEmployeeId) {
+        if (!employeeRepository.existsById(managerEmployeeId)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + managerEmployeeId);
+        }
+        return employeeRepository.findAllById(getReportIds(managerEmployeeId)).stream()
+                .sorted(Comparator.comparing(Employee::getName).thenComparing(Employee::getId))
+                .map(e -> new EmployeeDirectoryEntryDTO(e.getId(), e.getName(), e.getEmail(),
+                        departmentService.nameOf(e.getDepartmentId())))
+                .toList();
+    }
+
+    /**
+     * Move the employee (with all of its reports) under a new manager, or to the top
+     * of the hierarchy when managerId is null. Moves that would create a cycle are rejected.
+     */
+    @Transactional
+    public void assignManager(Long employeeId, Long managerId) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+        Employee manager = null;
+        if (managerId != null) {
+            manager = employeeRepository.findById(managerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + managerId));
+            if (manager.getUser().getRole() != Role.MANAGER) {
+                throw new IllegalArgumentException("Employee " + managerId + " is not a manager");
+            }
+        }
+
+        hierarchyRepository.lockForUpdate();
+
+        if (managerId != null && (managerId.equals(employeeId) || hierarchyRepository.isAncestor(employeeId, managerId))) {
+            throw new IllegalArgumentException(
+                    "Employee " + managerId + " reports to employee " + employeeId + " and cannot be their manager");
+        }
+
+        hierarchyRepository.detachSubtree(employeeId);
+        if (managerId != null) {
+            hierarchyRepository.attachSubtree(employeeId, managerId);
+        }
+
+        employee.setManager(manager);
+        employeeRepository.save(employee);
+
+        log.info("Employee {} now reports to {}", employeeId, managerId);
+    }
+
+    /**
+     * Place newly created employees in the hierarchy: EMPLOYEE-role hires report to the
+     * oldest approved manager of their department. Must run after the employees are inserted.
+     */
+    @Transactional
+    public void placeNewEmployees(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        hierarchyRepository.lockForUpdate();
+        hierarchyRepository.assignDepartmentManagers(employeeIds, LocalDateTime.now());
+        hierarchyRepository.linkNewEmployees(employeeIds);
+    }
+}
@@ -0,0 +1,266 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.BulkOnboardingResultDTO;
+import com.company.leave_management_system.dto.OnboardingErrorDTO;
+import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.dto.WelcomeEmailDTO;
+import com.company.leave_management_system.entity.Employee;
+import com.company.leave_management_system.entity.User;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.repository.EmployeeRepository;
+import com.company.leave_management_system.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding of new hires (HR imports).
+ * Uniqueness is checked with one username and one email query per chunk, passwords
+ * are BCrypt-hashed in parallel on a bounded pool outside any transaction, and users,
+ * employees and leave balances are batch-inserted in one transaction per chunk.
+ * Welcome emails are queued as a single async batch at the end.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeOnboardingService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final DepartmentService departmentService;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailService emailService;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.onboarding.hash-parallelism:4}")
+    private int hashParallelism;
+
+    private ExecutorService hashers;
+
+    @PostConstruct
+    void startExecutor() {
+        hashers = Executors.newFixedThreadPool(hashParallelism, new CustomizableThreadFactory("onboarding-hash-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        hashers.shutdownNow();
+    }
+
+    /**
+     * Create a user, employee and current-year leave balance for every valid row.
+     * Invalid or duplicate rows are reported and skipped; the rest are still created.
+     */
+    public BulkOnboardingResultDTO onboard(List<RegisterRequestDTO> requests) {
+        OnboardingRun run = new OnboardingRun();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Candidate> candidates = validate(requests, run);
+        for (int from = 0; from < candidates.size(); from += CHUNK_SIZE) {
+            processChunk(candidates.subList(from, Math.min(from + CHUNK_SIZE, candidates.size())), run, transaction);
+        }
+
+        if (!run.welcomeEmails.isEmpty()) {
+            emailService.sendWelcomeEmails(run.welcomeEmails);
+        }
+
+        run.errors.sort(Comparator.comparingInt(OnboardingErrorDTO::getIndex));
+        log.info("Bulk onboarding finished: {} rows, {} created, {} failed", requests.size(), run.created, run.failed);
+
+        return BulkOnboardingResultDTO.builder()
+                .totalRows(requests.size())
+                .created(run.created)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    /**
+     * Bean validation, role and in-request duplicate checks; no database access
+     */
+    private List<Candidate> validate(List<RegisterRequestDTO> requests, OnboardingRun run) {
+        List<Candidate> candidates = new ArrayList<>(requests.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            RegisterRequestDTO request = requests.get(index);
+            if (request == null) {
+                run.error(index, null, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                run.error(index, request.getUsername(), violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            if (request.getRole() == Role.ADMIN) {
+                run.error(index, request.getUsername(), "Admin accounts cannot be onboarded");
+                continue;
+            }
+            if (!usernames.add(request.getUsername())) {
+                run.error(index, request.getUsername(), "Duplicate username in request");
+                continue;
+            }
+            if (!emails.add(request.getEmail())) {
+                run.error(index, request.getUsername(), "Duplicate email in request");
+                continue;
+            }
+            candidates.add(new Candidate(index, request));
+        }
+        return candidates;
+    }
+
+    private void processChunk(List<Candidate> chunk, OnboardingRun run, TransactionTemplate transaction) {
+        List<Candidate> accepted = rejectExisting(chunk, run);
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashPasswords(accepted);
+        int year = LocalDate.now().getYear();
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                List<User> users = new ArrayList<>(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    users.add(toUser(accepted.get(i).request, hashes.get(i)));
+                }
+                userRepository.saveAll(users);
+
+                Map<String, Integer> departmentIds = departmentService.resolveIds(
+                        accepted.stream().map(c -> c.request.getDepartment()).collect(Collectors.toSet()));
+                List<Employee> employees = new ArrayList<>(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    RegisterRequestDTO request = accepted.get(i).request;
+                    employees.add(toEmployee(request, users.get(i), departmentIds.get(request.getDepartment())));
+                }
+                employeeRepository.saveAll(employees);
+                // Balances are provisioned by INSERT ... SELECT FROM employee, so the rows must be written first
+                employeeRepository.flush();
+
+                List<Long> employeeIds = employees.stream().map(Employee::getId).toList();
+                leaveBalanceService.provisionBalances(year, employeeIds);
+                employeeHierarchyService.placeNewEmployees(employeeIds);
+            });
+        } catch (RuntimeException ex) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            for (Candidate candidate : accepted) {
+                run.error(candidate.index, candidate.request.getUsername(), "Not onboarded, batch failed: " + cause);
+            }
+            log.warn("Bulk onboarding batch starting at row {} failed: {}", accepted.get(0).index, cause);
+            return;
+        }
+
+        run.created += accepted.size();
+        for (Candidate candidate : accepted) {
+            RegisterRequestDTO request = candidate.request;
+            run.welcomeEmails.add(new WelcomeEmailDTO(
+                    request.getEmail(), request.getName(), request.getUsername(), request.getRole().name()));
+        }
+        log.info("Bulk onboarding progress: {} created, {} failed", run.created, run.failed);
+    }
+
+    /**
+     * Drop rows whose username or email is already taken, with one query for each
+     */
+    private List<Candidate> rejectExisting(List<Candidate> chunk, OnboardingRun run) {
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(c -> c.request.getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(employeeRepository.findExistingEmails(
+                chunk.stream().map(c -> c.request.getEmail()).toList()));
+
+        List<Candidate> accepted = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (takenUsernames.contains(candidate.request.getUsername())) {
+                run.error(candidate.index, candidate.request.getUsername(), "Username already exists");
+            } else if (takenEmails.contains(candidate.request.getEmail())) {
+                run.error(candidate.index, candidate.request.getUsername(), "Email already exists");
+            } else {
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * BCrypt is deliberately slow, so hash the chunk on the bounded pool and keep
+     * the results in row order
+     */
+    private List<String> hashPasswords(List<Candidate> candidates) {
+        List<CompletableFuture<String>> futures = candidates.stream()
+                .map(c -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(c.request.getPassword()), hashers))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private User toUser(RegisterRequestDTO request, String passwordHash) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setPassword(passwordHash);
+        user.setRole(request.getRole());
+        user.setEnabled(true);
+        // Same rule as self-registration: managers still need admin approval
+        user.setIsApproved(request.getRole() == Role.EMPLOYEE);
+        return user;
+    }
+
+    private Employee toEmployee(RegisterRequestDTO request, User user, Integer departmentId) {
+        Employee employee = new Employee();
+        employee.setUser(user);
+        employee.setName(request.getName());
+        employee.setEmail(request.getEmail());
+        employee.setDepartmentId(departmentId);
+        return employee;
+    }
+
+    private record Candidate(int index, RegisterRequestDTO request) {
+    }
+
+    private static final class OnboardingRun {
+
+        private int created;
+        private int failed;
+        private final List<OnboardingErrorDTO> errors = new ArrayList<>();
+        private final List<WelcomeEmailDTO> welcomeEmails = new ArrayList<>();
+
+        void error(int index, String username, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new OnboardingErrorDTO(index, username, message));
+            }
+        }
+    }
+}
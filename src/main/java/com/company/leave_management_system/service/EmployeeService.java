@@ -1,21 +1,33 @@
 package com.company.leave_management_system.service;
 
 import com.company.leave_management_system.dto.EmployeeDTO;
+import com.company.leave_management_system.dto.EmployeeDirectoryEntryDTO;
+import com.company.leave_management_system.dto.EmployeeDirectoryPageDTO;
+import com.company.leave_management_system.dto.EmployeeDirectoryView;
 import com.company.leave_management_system.entity.Employee;
 import com.company.leave_management_system.exception.ResourceNotFoundException;
 import com.company.leave_management_system.repository.EmployeeRepository;
+import com.company.leave_management_system.repository.LeaveRequestRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class EmployeeService {
 
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+
     private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final DepartmentService departmentService;
 
     @Transactional
     public EmployeeDTO createEmployee(EmployeeDTO dto) {
@@ -27,12 +39,76 @@ public class EmployeeService {
         return mapToDTO(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
         return employeeRepository.findAll().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One keyset page of the directory, optionally filtered by department and a
+     * prefix (or, with fuzzy, typo-tolerant) search over name, email and department
+     */
+    @Transactional(readOnly = true)
+    public EmployeeDirectoryPageDTO getDirectory(String query, boolean fuzzy, String department,
+                                                 String afterName, Long afterId, int size) {
+        if (afterName != null && afterId == null) {
+            throw new IllegalArgumentException("afterId is required with afterName");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+        String term = query == null || query.isBlank() ? null : query.trim().toLowerCase(Locale.ROOT);
+        Integer departmentId = null;
+        if (department != null && !department.isBlank()) {
+            departmentId = departmentService.findId(department);
+            if (departmentId == null) {
+                return EmployeeDirectoryPageDTO.builder().items(List.of()).hasMore(false).build();
+            }
+        }
+
+        // One extra row tells whether another page follows
+        List<EmployeeDirectoryView> rows = term != null && fuzzy
+                ? employeeRepository.findDirectoryPageFuzzy(departmentId, term, afterName, afterId, limit + 1)
+                : employeeRepository.findDirectoryPage(departmentId,
+                        term == null ? null : escapeLike(term) + "%", afterName, afterId, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<EmployeeDirectoryEntryDTO> items = rows.stream()
+                .limit(limit)
+                .map(row -> new EmployeeDirectoryEntryDTO(row.getId(), row.getName(), row.getEmail(),
+                        departmentService.nameOf(row.getDepartmentId())))
+                .toList();
+        EmployeeDirectoryEntryDTO last = hasMore ? items.get(items.size() - 1) : null;
+
+        return EmployeeDirectoryPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextAfterName(last != null ? last.getName() : null)
+                .nextAfterId(last != null ? last.getId() : null)
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Move an employee to another department and rewrite the department copied
+     * onto their leave requests in the same transaction
+     */
+    @Transactional
+    public void changeDepartment(Long id, String department) {
+        Employee employee = getEmployeeEntityById(id);
+        Integer departmentId = departmentService.resolveId(department);
+
+        employee.setDepartmentId(departmentId);
+        employeeRepository.save(employee);
+        int leaves = leaveRequestRepository.updateDepartmentByEmployeeId(id, departmentId, LocalDateTime.now());
+
+        log.info("Employee {} moved to department {} ({} leave requests updated)", id, departmentId, leaves);
+    }
+
+    @Transactional(readOnly = true)
     public EmployeeDTO getEmployeeById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
@@ -32,12 +32,14 @@ public class FestivalHolidayService {
         return mapToDTO(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<FestivalHolidayDTO> getAllHolidays() {
         return festivalHolidayRepository.findAll().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<FestivalHolidayDTO> getHolidaysByYear(Integer year) {
         return festivalHolidayRepository.findByYear(year).stream()
                 .map(this::mapToDTO)
@@ -0,0 +1,198 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.entity.IdempotencyRecord;
+import com.company.leave_management_system.enums.IdempotencyStatus;
+import com.company.leave_management_system.exception.IdempotencyConflictException;
+import com.company.leave_management_system.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per (user, Idempotency-Key) and replays the stored
+ * response on retries. Completed keys are cached in a bounded LRU map in front of
+ * the idempotency_key table, which is the source of truth across instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private final Map<String, StoredResponse> completed = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * Execute the action, or return the stored result if this key was already used
+     * for the same request. Without a key the action simply runs.
+     */
+    public <T> T execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        String cacheKey = username + '\n' + key;
+        String requestHash = hash(operation, request);
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResponse cached = cached(cacheKey, now);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        if (idempotencyRecordRepository.claim(username, key, operation, requestHash, now, now.plusHours(ttlHours)) == 0) {
+            Optional<StoredResponse> existing = loadExisting(username, key, now);
+            if (existing.isPresent()) {
+                StoredResponse stored = existing.get();
+                synchronized (completed) {
+                    completed.put(cacheKey, stored);
+                }
+                return replay(stored, requestHash, responseType);
+            }
+            // The previous row had expired and was removed, so try once more
+            if (idempotencyRecordRepository.claim(username, key, operation, requestHash, now, now.plusHours(ttlHours)) == 0) {
+                throw new IdempotencyConflictException("A request with this " + HEADER + " is already being processed");
+            }
+        }
+
+        // The operation and its stored response commit together, so a claim is never left
+        // IN_PROGRESS behind an operation that already took effect
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Completed<T> done;
+        try {
+            done = transaction.execute(status -> {
+                T result = action.get();
+                String body = toJson(result);
+                idempotencyRecordRepository.complete(username, key, body);
+                return new Completed<>(result, body);
+            });
+        } catch (RuntimeException ex) {
+            // Failed operations are not remembered so the client can retry with the same key
+            idempotencyRecordRepository.release(username, key);
+            throw ex;
+        }
+
+        synchronized (completed) {
+            completed.put(cacheKey, new StoredResponse(requestHash, done.body(), now.plusHours(ttlHours)));
+        }
+        return done.result();
+    }
+
+    /**
+     * Remove expired keys from the table
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private StoredResponse cached(String cacheKey, LocalDateTime now) {
+        synchronized (completed) {
+            StoredResponse stored = completed.get(cacheKey);
+            if (stored != null && stored.expiresAt().isBefore(now)) {
+                completed.remove(cacheKey);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    /**
+     * Completed response for an existing key; conflicts if it is still in progress.
+     * Returns empty if the row had expired (it is deleted) or vanished meanwhile.
+     */
+    private Optional<StoredResponse> loadExisting(String username, String key, LocalDateTime now) {
+        Optional<IdempotencyRecord> found = idempotencyRecordRepository.findByUsernameAndIdempotencyKey(username, key);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord record = found.get();
+        if (record.getExpiresAt().isBefore(now)) {
+            idempotencyRecordRepository.release(username, key);
+            return Optional.empty();
+        }
+        if (record.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            throw new IdempotencyConflictException("A request with this " + HEADER + " is already being processed");
+        }
+        return Optional.of(new StoredResponse(record.getRequestHash(), record.getResponseBody(), record.getExpiresAt()));
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException(HEADER + " was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response could not be read", ex);
+        }
+    }
+
+    private String toJson(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Idempotent response could not be stored", ex);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint request", ex);
+        }
+    }
+
+    private record StoredResponse(String requestHash, String body, LocalDateTime expiresAt) {
+    }
+
+    private record Completed<T>(T result, String body) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.CacheStatsDTO;
+import com.company.leave_management_system.dto.LeaveBalanceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of LeaveBalanceDTO by (employeeId, year). Writers update it
+ * after commit (write-through) or drop entries; other nodes are told through an
+ * optional LeaveBalanceInvalidationBroadcaster.
+ */
+@Component
+@Slf4j
+public class LeaveBalanceCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final LeaveBalanceInvalidationBroadcaster broadcaster;
+    private final int maxEntries;
+
+    private final Map<Key, LeaveBalanceDTO> balances;
+
+    /**
+     * Bumped (per stripe of keys) on every change so a load that raced a commit is not cached
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LeaveBalanceCache(ObjectProvider<LeaveBalanceInvalidationBroadcaster> broadcaster,
+                             @Value("${app.leave.balance-cache.max-entries:10000}") int maxEntries) {
+        this.broadcaster = broadcaster.getIfAvailable(() -> (employeeId, year) -> { });
+        this.maxEntries = maxEntries;
+        this.balances = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LeaveBalanceDTO> eldest) {
+                if (size() > LeaveBalanceCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached balance, or the loader's result (cached unless a change committed meanwhile)
+     */
+    public LeaveBalanceDTO get(Long employeeId, Integer year, Supplier<LeaveBalanceDTO> loader) {
+        Key key = new Key(employeeId, year);
+        synchronized (balances) {
+            LeaveBalanceDTO cached = balances.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        int stripe = key.stripe();
+        long generation = generations.get(stripe);
+        LeaveBalanceDTO loaded = loader.get();
+
+        synchronized (balances) {
+            if (generations.get(stripe) == generation) {
+                balances.putIfAbsent(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Write-through: cache the balance as changed by the surrounding transaction once it commits.
+     * If another change to the same stripe lands first, or the transaction rolls back, the entry is dropped.
+     */
+    public void update(LeaveBalanceDTO balance) {
+        Key key = new Key(balance.getEmployeeId(), balance.getYear());
+        int stripe = key.stripe();
+        long generation = generations.incrementAndGet(stripe);
+
+        afterCompletion(committed -> {
+            boolean current = committed && generations.compareAndSet(stripe, generation, generation + 1);
+            if (!current) {
+                generations.incrementAndGet(stripe);
+            }
+            synchronized (balances) {
+                if (current) {
+                    balances.put(key, balance);
+                    puts.increment();
+                } else {
+                    balances.remove(key);
+                }
+            }
+            if (committed) {
+                broadcaster.publish(key.employeeId(), key.year());
+            }
+        });
+    }
+
+    /**
+     * Drop a balance when the surrounding transaction ends, for changes that are not written through
+     */
+    public void evict(Long employeeId, Integer year) {
+        Key key = new Key(employeeId, year);
+        afterCompletion(committed -> {
+            invalidateLocal(employeeId, year);
+            if (committed) {
+                broadcaster.publish(key.employeeId(), key.year());
+            }
+        });
+    }
+
+    /**
+     * Drop every balance of a year when the surrounding transaction ends
+     */
+    public void evictYear(Integer year) {
+        afterCompletion(committed -> {
+            invalidateLocal(null, year);
+            if (committed) {
+                broadcaster.publish(null, year);
+            }
+        });
+    }
+
+    /**
+     * Drop a balance on this node only; employeeId null drops the whole year.
+     * Entry point for a LeaveBalanceInvalidationBroadcaster receiving another node's change.
+     */
+    public void invalidateLocal(Long employeeId, Integer year) {
+        if (employeeId == null) {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            synchronized (balances) {
+                balances.keySet().removeIf(key -> key.year().equals(year));
+            }
+            return;
+        }
+
+        Key key = new Key(employeeId, year);
+        generations.incrementAndGet(key.stripe());
+        synchronized (balances) {
+            balances.remove(key);
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (balances) {
+            size = balances.size();
+        }
+        return CacheStatsDTO.builder()
+                .size(size)
+                .maxSize(maxEntries)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount))
+                .puts(puts.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    private static void afterCompletion(CompletionAction action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private interface CompletionAction {
+        void run(boolean committed);
+    }
+
+    private record Key(Long employeeId, Integer year) {
+
+        int stripe() {
+            return Math.floorMod(hashCode(), GENERATION_STRIPES);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.leave_management_system.service;
+
+/**
+ * Tells other application nodes that a cached leave balance changed. Called after
+ * the change commits; receivers drop their copy with LeaveBalanceCache.invalidateLocal.
+ * Without a bean of this type the cache is node-local only.
+ */
+public interface LeaveBalanceInvalidationBroadcaster {
+
+    /**
+     * @param employeeId employee whose balance changed, or null for every employee
+     * @param year       year of the changed balance
+     */
+    void publish(Long employeeId, Integer year);
+}
@@ -0,0 +1,253 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.LedgerSumView;
+import com.company.leave_management_system.entity.EmployeeLeaveBalance;
+import com.company.leave_management_system.entity.LeaveBalanceLedgerEntry;
+import com.company.leave_management_system.enums.LedgerEntryType;
+import com.company.leave_management_system.exception.ResourceNotFoundException;
+import com.company.leave_management_system.repository.LeaveBalanceLedgerRepository;
+import com.company.leave_management_system.repository.LeaveBalanceSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only ledger behind leave balances. Changes are inserted as ledger entries
+ * instead of updating the balance row; the balance row holds totals as of its
+ * snapshotAt, and a periodic snapshot folds newer entries into it.
+ * Current totals are kept in a bounded in-memory map, refilled with one query after a change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveBalanceLedgerService {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final LeaveBalanceLedgerRepository ledgerRepository;
+    private final LeaveBalanceSnapshotRepository snapshotRepository;
+
+    @Value("${app.leave.ledger.cache.max-balances:20000}")
+    private int maxBalances;
+
+    /**
+     * Entries younger than this are not folded yet, so a transaction still in flight
+     * when the snapshot runs cannot commit an entry behind the snapshot
+     */
+    @Value("${app.leave.ledger.snapshot-lag-seconds:300}")
+    private long snapshotLagSeconds;
+
+    private final Map<BalanceKey, BalanceTotals> totals = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BalanceKey, BalanceTotals> eldest) {
+            return size() > maxBalances;
+        }
+    };
+
+    /**
+     * Bumped (per stripe of balances) on every change so a load that raced a commit is not cached
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Current totals of a balance: its snapshot plus every later ledger entry.
+     * Served from this node's cache, so checks that guard a write use {@link #current(Collection)}.
+     */
+    public BalanceTotals current(EmployeeLeaveBalance balance) {
+        BalanceKey key = new BalanceKey(balance.getEmployee().getId(), balance.getYear());
+        synchronized (totals) {
+            BalanceTotals cached = totals.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        int stripe = key.stripe();
+        long generation = generations.get(stripe);
+        BalanceTotals loaded = load(List.of(balance.getId())).get(balance.getId());
+
+        synchronized (totals) {
+            if (generations.get(stripe) == generation) {
+                totals.putIfAbsent(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Current totals of several balances in one query, keyed by balance id; bypasses the cache
+     */
+    public Map<Long, BalanceTotals> current(Collection<EmployeeLeaveBalance> balances) {
+        if (balances.isEmpty()) {
+            return Map.of();
+        }
+        return load(balances.stream().map(EmployeeLeaveBalance::getId).toList());
+    }
+
+    /**
+     * Totals of a balance as they were at the given time
+     */
+    public BalanceTotals asOf(EmployeeLeaveBalance balance, LocalDateTime at) {
+        if (balance.getCreatedAt() != null && at.isBefore(balance.getCreatedAt())) {
+            throw new ResourceNotFoundException("No leave balance for year " + balance.getYear() + " as of " + at);
+        }
+
+        Long employeeId = balance.getEmployee().getId();
+        Integer year = balance.getYear();
+        BalanceTotals base = BalanceTotals.of(balance);
+
+        if (!at.isBefore(balance.getSnapshotAt())) {
+            return base.plus(ledgerRepository.sumBetween(employeeId, year, balance.getSnapshotAt(), at));
+        }
+
+        // Walk forward from the latest older snapshot, or back from the balance's own when there is none
+        return snapshotRepository
+                .findFirstByEmployeeIdAndYearAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(employeeId, year, at)
+                .map(snapshot -> new BalanceTotals(snapshot.getTotalEntitlement(), snapshot.getUsedLeaves(),
+                        snapshot.getCarriedForward())
+                        .plus(ledgerRepository.sumBetween(employeeId, year, snapshot.getSnapshotAt(), at)))
+                .orElseGet(() -> base.minus(ledgerRepository.sumBetween(employeeId, year, at, balance.getSnapshotAt())));
+    }
+
+    /**
+     * New, unsaved entry against a balance
+     */
+    public LeaveBalanceLedgerEntry entry(EmployeeLeaveBalance balance, LedgerEntryType type,
+                                        BigDecimal usedDelta, BigDecimal entitlementDelta,
+                                        Long leaveRequestId, String note) {
+        LeaveBalanceLedgerEntry entry = new LeaveBalanceLedgerEntry();
+        entry.setEmployee(balance.getEmployee());
+        entry.setYear(balance.getYear());
+        entry.setEntryType(type);
+        entry.setUsedDelta(usedDelta);
+        entry.setEntitlementDelta(entitlementDelta);
+        entry.setLeaveRequestId(leaveRequestId);
+        entry.setNote(note);
+        return entry;
+    }
+
+    /**
+     * Insert entries; cached totals of the affected balances are dropped when the transaction ends
+     */
+    public void append(List<LeaveBalanceLedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        String createdBy = currentUsername();
+        entries.forEach(entry -> entry.setCreatedBy(createdBy));
+        ledgerRepository.saveAll(entries);
+
+        Set<BalanceKey> keys = entries.stream()
+                .map(entry -> new BalanceKey(entry.getEmployee().getId(), entry.getYear()))
+                .collect(Collectors.toSet());
+        afterCompletion(() -> {
+            keys.forEach(key -> generations.incrementAndGet(key.stripe()));
+            synchronized (totals) {
+                keys.forEach(totals::remove);
+            }
+        });
+    }
+
+    /**
+     * Fold settled ledger entries into the balance rows and record snapshot history
+     */
+    @Scheduled(fixedDelayString = "${app.leave.ledger.snapshot-interval-ms:3600000}")
+    public void snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        int snapshotted = ledgerRepository.foldIntoSnapshots(now.minusSeconds(snapshotLagSeconds), now);
+        if (snapshotted > 0) {
+            log.info("Snapshotted {} leave balances", snapshotted);
+        }
+    }
+
+    private Map<Long, BalanceTotals> load(List<Long> balanceIds) {
+        Map<Long, BalanceTotals> loaded = new HashMap<>();
+        for (LedgerSumView sum : ledgerRepository.sumSinceSnapshot(balanceIds)) {
+            loaded.put(sum.getBalanceId(),
+                    new BalanceTotals(sum.getTotalEntitlement(), sum.getUsedLeaves(), sum.getCarriedForward()).plus(sum));
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop cached totals whether the transaction commits or rolls back; a load
+     * inside the transaction may have seen its uncommitted entries
+     */
+    private static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private record BalanceKey(Long employeeId, Integer year) {
+
+        int stripe() {
+            return Math.floorMod(hashCode(), GENERATION_STRIPES);
+        }
+    }
+
+    /**
+     * Entitlement, used and carried-forward days of one balance
+     */
+    public record BalanceTotals(BigDecimal totalEntitlement, BigDecimal usedLeaves, BigDecimal carriedForward) {
+
+        static BalanceTotals of(EmployeeLeaveBalance balance) {
+            return new BalanceTotals(
+                    zeroIfNull(balance.getTotalEntitlement()),
+                    zeroIfNull(balance.getUsedLeaves()),
+                    zeroIfNull(balance.getCarriedForward()));
+        }
+
+        public BigDecimal remainingLeaves() {
+            return totalEntitlement.subtract(usedLeaves);
+        }
+
+        BalanceTotals plus(LedgerSumView sum) {
+            return new BalanceTotals(
+                    totalEntitlement.add(sum.getEntitlementDelta()),
+                    usedLeaves.add(sum.getUsedDelta()),
+                    carriedForward.add(sum.getCarriedDelta()));
+        }
+
+        BalanceTotals minus(LedgerSumView sum) {
+            return new BalanceTotals(
+                    totalEntitlement.subtract(sum.getEntitlementDelta()),
+                    usedLeaves.subtract(sum.getUsedDelta()),
+                    carriedForward.subtract(sum.getCarriedDelta()));
+        }
+
+        private static BigDecimal zeroIfNull(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+    }
+}
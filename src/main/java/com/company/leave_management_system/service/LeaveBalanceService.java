@@ -1,28 +1,47 @@
 package com.company.leave_management_system.service;
 
+import com.company.leave_management_system.dto.CacheStatsDTO;
+import com.company.leave_management_system.dto.LeaveBalanceAdjustmentDTO;
 import com.company.leave_management_system.dto.LeaveBalanceDTO;
 import com.company.leave_management_system.dto.YearEndActionDTO;
 import com.company.leave_management_system.entity.Employee;
 import com.company.leave_management_system.entity.EmployeeLeaveBalance;
+import com.company.leave_management_system.entity.LeaveBalanceLedgerEntry;
+import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.LedgerEntryType;
 import com.company.leave_management_system.enums.YearEndAction;
 import com.company.leave_management_system.exception.InvalidLeaveRequestException;
 import com.company.leave_management_system.exception.ResourceNotFoundException;
 import com.company.leave_management_system.repository.EmployeeLeaveBalanceRepository;
 import com.company.leave_management_system.repository.EmployeeRepository;
+import com.company.leave_management_system.repository.LeaveRequestRepository;
+import com.company.leave_management_system.service.LeaveBalanceLedgerService.BalanceTotals;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class LeaveBalanceService {
 
     private final EmployeeLeaveBalanceRepository leaveBalanceRepository;
     private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveBalanceLedgerService ledgerService;
+    private final LeaveBalanceCache leaveBalanceCache;
 
     @Value("${app.leave.annual-entitlement:24}")
     private int annualEntitlement;
@@ -33,28 +52,82 @@ public class LeaveBalanceService {
     @Value("${app.leave.encashment-max:10}")
     private int encashmentMax;
 
+    /**
+     * Served from the balance cache. Never writes: a year without a stored
+     * balance is reported as the default entitlement.
+     */
     public LeaveBalanceDTO getLeaveBalance(Long employeeId, Integer year) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        return leaveBalanceCache.get(employeeId, year, () -> loadLeaveBalance(employeeId, year));
+    }
 
-        EmployeeLeaveBalance balance = leaveBalanceRepository
-                .findByEmployeeIdAndYear(employeeId, year)
-                .orElseGet(() -> createDefaultBalance(employee, year));
+    public CacheStatsDTO getCacheStats() {
+        return leaveBalanceCache.stats();
+    }
 
-        return mapToDTO(balance);
+    private LeaveBalanceDTO loadLeaveBalance(Long employeeId, Integer year) {
+        return leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
+                .map(this::mapToDTO)
+                .orElseGet(() -> {
+                    Employee employee = employeeRepository.findById(employeeId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+                    EmployeeLeaveBalance balance = newDefaultBalance(employee, year);
+                    return mapToDTO(balance, BalanceTotals.of(balance));
+                });
+    }
+
+    /**
+     * Balance of a year as it stood at the given time, rebuilt from snapshots and the ledger
+     */
+    @Transactional(readOnly = true)
+    public LeaveBalanceDTO getLeaveBalanceAsOf(Long employeeId, Integer year, LocalDateTime at) {
+        EmployeeLeaveBalance balance = leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
+                .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for year"));
+        return mapToDTO(balance, ledgerService.asOf(balance, at));
     }
 
     @Transactional
     public EmployeeLeaveBalance getOrCreateBalance(Long employeeId, Integer year) {
         return leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
                 .orElseGet(() -> {
-                    Employee employee = employeeRepository.findById(employeeId)
+                    // Insert-if-absent, so a concurrent first write cannot create a second row
+                    provisionBalances(year, List.of(employeeId));
+                    return leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
                             .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-                    return createDefaultBalance(employee, year);
                 });
     }
 
-    private EmployeeLeaveBalance createDefaultBalance(Employee employee, Integer year) {
+    /**
+     * Provision next year's balances during December, so January reads and
+     * deductions find an existing row
+     */
+    @Scheduled(cron = "${app.leave.balance-provisioning.cron:0 0 1 * 12 *}")
+    public void provisionNextYear() {
+        provisionYear(LocalDate.now().getYear() + 1);
+    }
+
+    /**
+     * Create the default balance of a year for every employee that has none,
+     * in one statement. Returns the number of balances created.
+     */
+    @Transactional
+    public int provisionYear(Integer year) {
+        int created = leaveBalanceRepository.provisionYear(
+                year, BigDecimal.valueOf(annualEntitlement), LocalDateTime.now());
+        leaveBalanceCache.evictYear(year);
+        log.info("Provisioned {} leave balances for {}", created, year);
+        return created;
+    }
+
+    /**
+     * Create default balances for the given employees in one statement, skipping rows that already exist
+     */
+    @Transactional
+    public void provisionBalances(Integer year, Collection<Long> employeeIds) {
+        leaveBalanceRepository.provisionEmployees(
+                year, employeeIds, BigDecimal.valueOf(annualEntitlement), LocalDateTime.now());
+    }
+
+    private EmployeeLeaveBalance newDefaultBalance(Employee employee, Integer year) {
         EmployeeLeaveBalance balance = new EmployeeLeaveBalance();
         balance.setEmployee(employee);
         balance.setYear(year);
@@ -62,40 +135,191 @@ public class LeaveBalanceService {
         balance.setUsedLeaves(BigDecimal.ZERO);
         balance.setRemainingLeaves(BigDecimal.valueOf(annualEntitlement));
         balance.setCarriedForward(BigDecimal.ZERO);
-        return leaveBalanceRepository.save(balance);
+        return balance;
     }
 
     @Transactional
     public void deductLeave(Long employeeId, BigDecimal workingDays, Integer year) {
-        EmployeeLeaveBalance balance = getOrCreateBalance(employeeId, year);
+        // Row lock serializes concurrent deductions, so two of them cannot both pass the check
+        EmployeeLeaveBalance balance = leaveBalanceRepository.lockByEmployeeIdAndYear(employeeId, year)
+                .orElseGet(() -> {
+                    provisionBalances(year, List.of(employeeId));
+                    return leaveBalanceRepository.lockByEmployeeIdAndYear(employeeId, year)
+                            .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+                });
+        // Read from the database: cached totals are per node and may miss another node's entries
+        BigDecimal remaining = ledgerService.current(List.of(balance)).get(balance.getId()).remainingLeaves();
 
-        if (balance.getRemainingLeaves().compareTo(workingDays) < 0) {
+        if (remaining.compareTo(workingDays) < 0) {
             throw new InvalidLeaveRequestException(
                     String.format("Insufficient leave balance. Available: %.1f, Required: %.1f",
-                            balance.getRemainingLeaves(), workingDays)
+                            remaining, workingDays)
             );
         }
 
-        balance.setUsedLeaves(balance.getUsedLeaves().add(workingDays));
-        balance.setRemainingLeaves(balance.getRemainingLeaves().subtract(workingDays));
-        leaveBalanceRepository.save(balance);
+        ledgerService.append(List.of(ledgerService.entry(
+                balance, LedgerEntryType.DEDUCTION, workingDays, BigDecimal.ZERO, null, null)));
+        leaveBalanceCache.update(currentDTO(balance));
     }
 
     @Transactional
-    public void restoreLeave(Long employeeId, BigDecimal workingDays, Integer year) {
+    public void restoreLeave(Long employeeId, BigDecimal workingDays, Integer year, Long leaveRequestId) {
         EmployeeLeaveBalance balance = getOrCreateBalance(employeeId, year);
+        ledgerService.append(List.of(ledgerService.entry(
+                balance, LedgerEntryType.RESTORE, workingDays.negate(), BigDecimal.ZERO, leaveRequestId, null)));
+        leaveBalanceCache.update(currentDTO(balance));
+    }
 
-        balance.setUsedLeaves(balance.getUsedLeaves().subtract(workingDays));
-        balance.setRemainingLeaves(balance.getRemainingLeaves().add(workingDays));
-        leaveBalanceRepository.save(balance);
+    /**
+     * Restore the working days of several leaves, loading each year's balances
+     * in one query and appending one ledger entry per leave
+     */
+    @Transactional
+    public void restoreLeaves(List<LeaveRequest> leaves) {
+        Map<Integer, List<LeaveRequest>> leavesByYear = new HashMap<>();
+        for (LeaveRequest leave : leaves) {
+            leavesByYear.computeIfAbsent(leave.getStartDate().getYear(), y -> new ArrayList<>()).add(leave);
+        }
+
+        List<LeaveBalanceLedgerEntry> entries = new ArrayList<>(leaves.size());
+        leavesByYear.forEach((year, yearLeaves) -> {
+            List<Long> employeeIds = yearLeaves.stream().map(leave -> leave.getEmployee().getId()).distinct().toList();
+            provisionBalances(year, employeeIds);
+
+            Map<Long, EmployeeLeaveBalance> balances = new HashMap<>();
+            leaveBalanceRepository.findByYearAndEmployeeIdIn(year, employeeIds)
+                    .forEach(balance -> balances.put(balance.getEmployee().getId(), balance));
+
+            for (LeaveRequest leave : yearLeaves) {
+                entries.add(ledgerService.entry(balances.get(leave.getEmployee().getId()), LedgerEntryType.RESTORE,
+                        leave.getWorkingDays().negate(), BigDecimal.ZERO, leave.getId(), null));
+            }
+            employeeIds.forEach(employeeId -> leaveBalanceCache.evict(employeeId, year));
+        });
+
+        ledgerService.append(entries);
+    }
+
+    /**
+     * Manual change to a balance's entitlement, recorded as an ADJUSTMENT ledger entry
+     */
+    @Transactional
+    public LeaveBalanceDTO adjustBalance(Long employeeId, LeaveBalanceAdjustmentDTO dto) {
+        EmployeeLeaveBalance balance = getOrCreateBalance(employeeId, dto.getYear());
+        ledgerService.append(List.of(ledgerService.entry(
+                balance, LedgerEntryType.ADJUSTMENT, BigDecimal.ZERO, dto.getDays(), null, dto.getNote())));
+        LeaveBalanceDTO adjusted = currentDTO(balance);
+        leaveBalanceCache.update(adjusted);
+        return adjusted;
+    }
+
+    /**
+     * Recompute used leaves for the given employees in one year from their
+     * PENDING/APPROVED leaves, creating missing balances and appending an
+     * ADJUSTMENT for any difference. Used after bulk imports.
+     */
+    @Transactional
+    public void recomputeUsedLeaves(Integer year, Collection<Long> employeeIds) {
+        Map<Long, BigDecimal> usedByEmployee = new HashMap<>();
+        for (Object[] row : leaveRequestRepository.sumActiveWorkingDays(
+                employeeIds, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            usedByEmployee.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        provisionBalances(year, employeeIds);
+        List<EmployeeLeaveBalance> balances = leaveBalanceRepository.findByYearAndEmployeeIdIn(year, employeeIds);
+
+        Map<Long, BalanceTotals> current = ledgerService.current(balances);
+
+        List<LeaveBalanceLedgerEntry> entries = new ArrayList<>();
+        for (EmployeeLeaveBalance balance : balances) {
+            BigDecimal used = usedByEmployee.getOrDefault(balance.getEmployee().getId(), BigDecimal.ZERO);
+            BigDecimal difference = used.subtract(current.get(balance.getId()).usedLeaves());
+            if (difference.signum() != 0) {
+                entries.add(ledgerService.entry(balance, LedgerEntryType.ADJUSTMENT, difference, BigDecimal.ZERO,
+                        null, "Recomputed from leave history"));
+            }
+        }
+
+        ledgerService.append(entries);
+        employeeIds.forEach(employeeId -> leaveBalanceCache.evict(employeeId, year));
+    }
+
+    /**
+     * Year-end rollover of a chunk of balances: anyone who has not chosen gets the
+     * default CARRY_FORWARD (capped at carryForwardMax), and next-year balances get a
+     * CARRY_FORWARD ledger entry bringing their carried days to that amount. Balances already rolled over or
+     * locked by another worker are skipped.
+     */
+    @Transactional
+    public RolloverResult rolloverChunk(Integer year, Collection<Long> balanceIds) {
+        List<EmployeeLeaveBalance> balances = leaveBalanceRepository.lockRolloverPending(balanceIds);
+        if (balances.isEmpty()) {
+            return new RolloverResult(0, 0);
+        }
+
+        Map<Long, EmployeeLeaveBalance> nextYear = new HashMap<>();
+        List<Long> employeeIds = balances.stream().map(balance -> balance.getEmployee().getId()).toList();
+        provisionBalances(year + 1, employeeIds);
+        leaveBalanceRepository.findByYearAndEmployeeIdIn(year + 1, employeeIds)
+                .forEach(balance -> nextYear.put(balance.getEmployee().getId(), balance));
+
+        Map<Long, BalanceTotals> current = ledgerService.current(balances);
+        Map<Long, BalanceTotals> nextCurrent = ledgerService.current(nextYear.values());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveBalanceLedgerEntry> entries = new ArrayList<>(balances.size());
+        int defaulted = 0;
+
+        for (EmployeeLeaveBalance balance : balances) {
+            if (balance.getYearEndAction() == null) {
+                balance.setYearEndAction(YearEndAction.CARRY_FORWARD);
+                balance.setYearEndActionDate(now);
+                defaulted++;
+            }
+
+            BigDecimal toCarry = BigDecimal.ZERO;
+            if (balance.getYearEndAction() == YearEndAction.CARRY_FORWARD) {
+                toCarry = current.get(balance.getId()).remainingLeaves()
+                        .max(BigDecimal.ZERO).min(BigDecimal.valueOf(carryForwardMax));
+            }
+
+            EmployeeLeaveBalance next = nextYear.get(balance.getEmployee().getId());
+            BigDecimal difference = toCarry.subtract(nextCurrent.get(next.getId()).carriedForward());
+            if (difference.signum() != 0) {
+                entries.add(ledgerService.entry(next, LedgerEntryType.CARRY_FORWARD, BigDecimal.ZERO, difference,
+                        null, "Year-end rollover from " + year));
+            }
+
+            balance.setRolledOverAt(now);
+            leaveBalanceCache.evict(balance.getEmployee().getId(), year);
+            leaveBalanceCache.evict(balance.getEmployee().getId(), year + 1);
+        }
+
+        leaveBalanceRepository.saveAll(balances);
+        ledgerService.append(entries);
+        return new RolloverResult(balances.size(), defaulted);
+    }
+
+    /**
+     * Balances rolled over in one chunk, and how many of them got the default policy
+     */
+    public record RolloverResult(int processed, int defaulted) {
     }
 
     @Transactional
     public void processYearEndAction(Long employeeId, YearEndActionDTO dto) {
+        // Locked so concurrent requests and a rollover chunk see each other's action
         EmployeeLeaveBalance balance = leaveBalanceRepository
-                .findByEmployeeIdAndYear(employeeId, dto.getYear())
+                .lockByEmployeeIdAndYear(employeeId, dto.getYear())
                 .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for year"));
 
+        if (balance.getRolledOverAt() != null) {
+            throw new InvalidLeaveRequestException(
+                    "Leave balance for year " + dto.getYear() + " has already been rolled over"
+            );
+        }
+
         // Check if action already processed
         if (balance.getYearEndAction() != null) {
             throw new InvalidLeaveRequestException(
@@ -103,41 +327,61 @@ public class LeaveBalanceService {
             );
         }
 
-        BigDecimal remaining = balance.getRemainingLeaves();
+        BigDecimal remaining = ledgerService.current(List.of(balance)).get(balance.getId())
+                .remainingLeaves().max(BigDecimal.ZERO);
 
         if (dto.getAction() == YearEndAction.CARRY_FORWARD) {
             // Carry forward max 12 leaves
             BigDecimal toCarry = remaining.min(BigDecimal.valueOf(carryForwardMax));
 
-            // Create or update next year balance
+            // Bring next year's carried days to toCarry
             EmployeeLeaveBalance nextYearBalance = getOrCreateBalance(employeeId, dto.getYear() + 1);
-            nextYearBalance.setCarriedForward(toCarry);
-            nextYearBalance.setTotalEntitlement(BigDecimal.valueOf(annualEntitlement).add(toCarry));
-            nextYearBalance.setRemainingLeaves(nextYearBalance.getTotalEntitlement().subtract(nextYearBalance.getUsedLeaves()));
-            leaveBalanceRepository.save(nextYearBalance);
+            BigDecimal difference = toCarry.subtract(
+                    ledgerService.current(List.of(nextYearBalance)).get(nextYearBalance.getId()).carriedForward());
+            if (difference.signum() != 0) {
+                ledgerService.append(List.of(ledgerService.entry(nextYearBalance, LedgerEntryType.CARRY_FORWARD,
+                        BigDecimal.ZERO, difference, null, "Carried forward from " + dto.getYear())));
+            }
+            leaveBalanceCache.update(currentDTO(nextYearBalance));
 
         } else if (dto.getAction() == YearEndAction.ENCASHMENT) {
             // Encash max 10 leaves
             BigDecimal toEncash = remaining.min(BigDecimal.valueOf(encashmentMax));
-            // Here you would typically integrate with payroll system
-            // For now, we just record the action
+            // Here you would typically integrate with payroll system;
+            // the encashed days leave this year's entitlement
+            if (toEncash.signum() > 0) {
+                ledgerService.append(List.of(ledgerService.entry(balance, LedgerEntryType.ENCASHMENT,
+                        BigDecimal.ZERO, toEncash.negate(), null, null)));
+            }
         }
 
         balance.setYearEndAction(dto.getAction());
         balance.setYearEndActionDate(LocalDateTime.now());
         leaveBalanceRepository.save(balance);
+        leaveBalanceCache.update(currentDTO(balance));
     }
 
     private LeaveBalanceDTO mapToDTO(EmployeeLeaveBalance balance) {
+        return mapToDTO(balance, ledgerService.current(balance));
+    }
+
+    /**
+     * Balance including ledger entries written earlier in this transaction, for write-through
+     */
+    private LeaveBalanceDTO currentDTO(EmployeeLeaveBalance balance) {
+        return mapToDTO(balance, ledgerService.current(List.of(balance)).get(balance.getId()));
+    }
+
+    private LeaveBalanceDTO mapToDTO(EmployeeLeaveBalance balance, BalanceTotals totals) {
         return LeaveBalanceDTO.builder()
                 .id(balance.getId())
                 .employeeId(balance.getEmployee().getId())
                 .employeeName(balance.getEmployee().getName())
                 .year(balance.getYear())
-                .totalEntitlement(balance.getTotalEntitlement())
-                .usedLeaves(balance.getUsedLeaves())
-                .remainingLeaves(balance.getRemainingLeaves())
-                .carriedForward(balance.getCarriedForward())
+                .totalEntitlement(totals.totalEntitlement())
+                .usedLeaves(totals.usedLeaves())
+                .remainingLeaves(totals.remainingLeaves())
+                .carriedForward(totals.carriedForward())
                 .yearEndAction(balance.getYearEndAction())
                 .canProcessYearEnd(balance.getYearEndAction() == null)
                 .build();
@@ -0,0 +1,223 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.enums.ExportFormat;
+import com.company.leave_management_system.enums.LeaveStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams leave requests for payroll straight from a forward-only JDBC cursor.
+ * Rows are written as they are fetched, so memory use does not grow with the result size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "employeeId", "employeeName", "employeeEmail", "department",
+            "startDate", "endDate", "totalDays", "workingDays", "duration", "halfDayType",
+            "status", "autoApproved", "processedAt", "processedBy", "createdAt"
+    };
+
+    private static final String BASE_QUERY =
+            "SELECT lr.id, e.id AS employee_id, e.name, e.email, d.name AS department, " +
+            "lr.start_date, lr.end_date, lr.total_days, lr.working_days, lr.duration, lr.half_day_type, " +
+            "lr.status, lr.auto_approved, lr.processed_at, u.username AS processed_by, lr.created_at " +
+            "FROM leave_request lr " +
+            "JOIN employee e ON e.id = lr.employee_id " +
+            "LEFT JOIN department d ON d.id = lr.department_id " +
+            "LEFT JOIN users u ON u.id = lr.processed_by " +
+            "WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Write all leaves matching the filters to the stream. Leaves overlapping
+     * [from, to] are included; null filters are ignored.
+     */
+    public void export(OutputStream out, ExportFormat format, LocalDate from, LocalDate to,
+                       String department, LeaveStatus status) {
+        StringBuilder sql = new StringBuilder(BASE_QUERY);
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND lr.end_date >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND lr.start_date <= ?");
+            params.add(Date.valueOf(to));
+        }
+        if (department != null && !department.isBlank()) {
+            sql.append(" AND lr.department_id = (SELECT id FROM department WHERE name = ?)");
+            params.add(department.trim());
+        }
+        if (status != null) {
+            sql.append(" AND lr.status = ?");
+            params.add(status.name());
+        }
+        sql.append(" ORDER BY lr.id");
+
+        // PostgreSQL only uses a cursor (honours fetch size) inside a transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowSink sink = format == ExportFormat.NDJSON ? new NdjsonSink(writer) : new CsvSink(writer);
+
+        long[] rows = {0};
+        readOnly.executeWithoutResult(tx -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    return ps;
+                },
+                rs -> {
+                    sink.write(rs);
+                    rows[0]++;
+                }));
+
+        try {
+            sink.finish();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("Exported {} leave requests as {}", rows[0], format);
+    }
+
+    private interface RowSink {
+        void write(ResultSet rs) throws SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+
+        private final Writer writer;
+
+        CsvSink(Writer writer) {
+            this.writer = writer;
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                for (int i = 1; i <= COLUMNS.length; i++) {
+                    if (i > 1) {
+                        writer.write(',');
+                    }
+                    writeValue(rs.getObject(i));
+                }
+                writer.write("\r\n");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof Timestamp ts ? ts.toLocalDateTime().toString() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private final class NdjsonSink implements RowSink {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonSink(Writer writer) {
+            this.writer = writer;
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(writer);
+                // Per-row flushes only hand bytes to the buffered writer, not the socket
+                this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                for (int i = 1; i <= COLUMNS.length; i++) {
+                    Object value = rs.getObject(i);
+                    generator.writeFieldName(COLUMNS[i - 1]);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Number || value instanceof Boolean) {
+                        generator.writeObject(value);
+                    } else if (value instanceof Timestamp ts) {
+                        generator.writeString(ts.toLocalDateTime().toString());
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.flush();
+                writer.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.LeaveImportErrorDTO;
+import com.company.leave_management_system.dto.LeaveImportResultDTO;
+import com.company.leave_management_system.dto.LeaveIntervalView;
+import com.company.leave_management_system.entity.Employee;
+import com.company.leave_management_system.entity.FestivalHoliday;
+import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.HalfDayType;
+import com.company.leave_management_system.enums.LeaveDuration;
+import com.company.leave_management_system.enums.LeaveStatus;
+import com.company.leave_management_system.exception.InvalidLeaveRequestException;
+import com.company.leave_management_system.repository.EmployeeRepository;
+import com.company.leave_management_system.repository.FestivalHolidayRepository;
+import com.company.leave_management_system.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of historical leave records from CSV.
+ * Rows are validated in memory (employees, holidays and existing leaves are loaded
+ * once, not per row), inserted in chunked transactions, and balances are recomputed
+ * once per (employee, year) at the end. No notifications or emails are sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String DEFAULT_REASON = "Imported leave record";
+
+    private static final List<LeaveStatus> ACTIVE_STATUSES = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+    private static final Set<LeaveStatus> IMPORTABLE_STATUSES =
+            EnumSet.of(LeaveStatus.APPROVED, LeaveStatus.REJECTED, LeaveStatus.CANCELLED);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final FestivalHolidayRepository festivalHolidayRepository;
+    private final WorkingDayCalculator workingDayCalculator;
+    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveTimelineCache leaveTimelineCache;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Import a CSV with header employeeEmail,startDate,endDate[,duration,halfDayType,status,reason].
+     * Status defaults to APPROVED and duration to FULL_DAY.
+     */
+    public LeaveImportResultDTO importCsv(InputStream in) throws IOException {
+        ImportRun run = new ImportRun();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new InvalidLeaveRequestException("CSV file is empty");
+        }
+        Map<String, Integer> columns = columns(header);
+
+        List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> values;
+        while ((values = reader.next()) != null) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            run.totalRows++;
+            chunk.add(new CsvRow(reader.recordLine, values, columns));
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, run, transaction);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, run, transaction);
+        }
+
+        int balances = 0;
+        for (Map.Entry<Integer, Set<Long>> entry : run.affected.entrySet()) {
+            leaveBalanceService.recomputeUsedLeaves(entry.getKey(), entry.getValue());
+            entry.getValue().forEach(leaveTimelineCache::evict);
+            balances += entry.getValue().size();
+        }
+
+        log.info("Leave import finished: {} rows, {} imported, {} failed, {} balances recomputed",
+                run.totalRows, run.imported, run.failed, balances);
+
+        return LeaveImportResultDTO.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .balancesRecomputed(balances)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    private void processChunk(List<CsvRow> chunk, ImportRun run, TransactionTemplate transaction) {
+        List<CsvRow> accepted = new ArrayList<>(chunk.size());
+        List<LeaveRequest> batch = new ArrayList<>(chunk.size());
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                resolveEmployees(chunk, run);
+
+                for (CsvRow row : chunk) {
+                    try {
+                        batch.add(toLeave(row, run));
+                        accepted.add(row);
+                    } catch (RuntimeException ex) {
+                        run.error(row.line, ex.getMessage());
+                    }
+                }
+
+                leaveRequestRepository.saveAll(batch);
+            });
+        } catch (RuntimeException ex) {
+            // The whole chunk rolled back; drop the timelines it touched so they reload from the DB
+            String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            for (CsvRow row : accepted) {
+                run.error(row.line, "Not imported, batch failed: " + cause);
+            }
+            batch.forEach(leave -> run.timelines.remove(leave.getEmployee().getId()));
+            log.warn("Leave import batch ending at line {} failed: {}", chunk.get(chunk.size() - 1).line, cause);
+            return;
+        }
+
+        run.imported += accepted.size();
+        for (LeaveRequest leave : batch) {
+            if (ACTIVE_STATUSES.contains(leave.getStatus())) {
+                run.affected.computeIfAbsent(leave.getStartDate().getYear(), y -> new HashSet<>())
+                        .add(leave.getEmployee().getId());
+            }
+        }
+        log.info("Leave import progress: {} rows read, {} imported, {} failed", run.totalRows, run.imported, run.failed);
+    }
+
+    /**
+     * Look up employees not seen yet (one query per chunk) and load the existing
+     * active leaves of any employee without an in-memory timeline
+     */
+    private void resolveEmployees(List<CsvRow> chunk, ImportRun run) {
+        Set<String> unknown = chunk.stream()
+                .map(row -> row.value("employeeemail"))
+                .filter(email -> email != null && !run.employeeIds.containsKey(email))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            for (Employee employee : employeeRepository.findByEmailIn(unknown)) {
+                run.employeeIds.put(employee.getEmail(), employee.getId());
+                run.departmentIds.put(employee.getId(), employee.getDepartmentId());
+            }
+            unknown.forEach(email -> run.employeeIds.putIfAbsent(email, null));
+        }
+
+        Set<Long> missingTimelines = chunk.stream()
+                .map(row -> row.value("employeeemail"))
+                .filter(email -> email != null)
+                .map(run.employeeIds::get)
+                .filter(id -> id != null && !run.timelines.containsKey(id))
+                .collect(Collectors.toSet());
+        if (missingTimelines.isEmpty()) {
+            return;
+        }
+
+        missingTimelines.forEach(id -> run.timelines.put(id, new TreeMap<>()));
+        for (LeaveIntervalView interval : leaveRequestRepository.findIntervalsByEmployeeIdIn(missingTimelines, ACTIVE_STATUSES)) {
+            run.timelines.get(interval.getEmployeeId()).put(interval.getStartDate(), interval.getEndDate());
+        }
+    }
+
+    private LeaveRequest toLeave(CsvRow row, ImportRun run) {
+        String email = row.required("employeeemail");
+        Long employeeId = run.employeeIds.get(email);
+        if (employeeId == null) {
+            throw new InvalidLeaveRequestException("Unknown employee email: " + email);
+        }
+
+        LocalDate startDate = row.date("startdate");
+        LocalDate endDate = row.date("enddate");
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidLeaveRequestException("End date must be after or equal to start date");
+        }
+
+        LeaveDuration duration = row.enumValue("duration", LeaveDuration.class, LeaveDuration.FULL_DAY);
+        HalfDayType halfDayType = row.enumValue("halfdaytype", HalfDayType.class, null);
+        LeaveStatus status = row.enumValue("status", LeaveStatus.class, LeaveStatus.APPROVED);
+        if (!IMPORTABLE_STATUSES.contains(status)) {
+            throw new InvalidLeaveRequestException("Status must be one of " + IMPORTABLE_STATUSES);
+        }
+        if (duration == LeaveDuration.HALF_DAY && !startDate.equals(endDate)) {
+            throw new InvalidLeaveRequestException("Half-day leave must start and end on the same day");
+        }
+
+        BigDecimal workingDays = workingDayCalculator.calculateWorkingDays(
+                startDate, endDate, duration, run.holidays(startDate, endDate));
+        BigDecimal totalDays = workingDayCalculator.calculateTotalDays(startDate, endDate, duration);
+
+        if (ACTIVE_STATUSES.contains(status)) {
+            // Active intervals of one employee never overlap, so only the floor entry can collide
+            TreeMap<LocalDate, LocalDate> timeline = run.timelines.get(employeeId);
+            Map.Entry<LocalDate, LocalDate> previous = timeline.floorEntry(endDate);
+            if (previous != null && !previous.getValue().isBefore(startDate)) {
+                throw new InvalidLeaveRequestException("Leave dates overlap with existing leave from "
+                        + previous.getKey() + " to " + previous.getValue());
+            }
+            timeline.put(startDate, endDate);
+        }
+
+        String reason = row.value("reason");
+
+        LeaveRequest leave = new LeaveRequest();
+        leave.setEmployee(employeeRepository.getReferenceById(employeeId));
+        leave.setDepartmentId(run.departmentIds.get(employeeId));
+        leave.setStartDate(startDate);
+        leave.setEndDate(endDate);
+        leave.setTotalDays(totalDays);
+        leave.setWorkingDays(workingDays);
+        leave.setReason(reason != null ? reason : DEFAULT_REASON);
+        leave.setDuration(duration);
+        leave.setHalfDayType(halfDayType);
+        leave.setStatus(status);
+        return leave;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("employeeemail", "startdate", "enddate")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidLeaveRequestException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * State shared across the chunks of one import
+     */
+    private final class ImportRun {
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<LeaveImportErrorDTO> errors = new ArrayList<>();
+        private final Map<String, Long> employeeIds = new HashMap<>();
+        private final Map<Long, Integer> departmentIds = new HashMap<>();
+        private final Map<Long, TreeMap<LocalDate, LocalDate>> timelines = new HashMap<>();
+        private final Map<Integer, Set<LocalDate>> holidaysByYear = new HashMap<>();
+        private final Map<Integer, Set<Long>> affected = new HashMap<>();
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new LeaveImportErrorDTO(line, message));
+            }
+        }
+
+        Set<LocalDate> holidays(LocalDate startDate, LocalDate endDate) {
+            if (startDate.getYear() == endDate.getYear()) {
+                return holidaysOf(startDate.getYear());
+            }
+            Set<LocalDate> holidays = new HashSet<>();
+            for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+                holidays.addAll(holidaysOf(year));
+            }
+            return holidays;
+        }
+
+        private Set<LocalDate> holidaysOf(int year) {
+            return holidaysByYear.computeIfAbsent(year, y -> festivalHolidayRepository.findByYear(y).stream()
+                    .map(FestivalHoliday::getDate)
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    private record CsvRow(long line, List<String> values, Map<String, Integer> columns) {
+
+        String value(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String required(String column) {
+            String value = value(column);
+            if (value == null) {
+                throw new InvalidLeaveRequestException("Missing value for " + column);
+            }
+            return value;
+        }
+
+        LocalDate date(String column) {
+            String value = required(column);
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new InvalidLeaveRequestException("Invalid date for " + column + ": " + value);
+            }
+        }
+
+        <E extends Enum<E>> E enumValue(String column, Class<E> type, E defaultValue) {
+            String value = value(column);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidLeaveRequestException("Invalid value for " + column + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, quotes ("") and line breaks
+     */
+    private static final class CsvReader {
+
+        private final BufferedReader reader;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
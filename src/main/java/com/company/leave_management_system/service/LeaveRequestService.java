@@ -1,5 +1,7 @@
 package com.company.leave_management_system.service;
 
+import com.company.leave_management_system.dto.BulkLeaveResultDTO;
+import com.company.leave_management_system.dto.LeaveEmailDTO;
 import com.company.leave_management_system.dto.LeaveRequestDTO;
 import com.company.leave_management_system.dto.LeaveResponseDTO;
 import com.company.leave_management_system.entity.Employee;
@@ -8,11 +10,14 @@ import com.company.leave_management_system.entity.User;
 import com.company.leave_management_system.enums.LeaveStatus;
 import com.company.leave_management_system.enums.Role;
 import com.company.leave_management_system.exception.*;
+import com.company.leave_management_system.repository.AutoApprovalQuotaRepository;
 import com.company.leave_management_system.repository.LeaveRequestRepository;
 import com.company.leave_management_system.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,9 +30,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -41,6 +54,16 @@ public class LeaveRequestService {
     private final EmailService emailService;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final AutoApprovalQuotaRepository autoApprovalQuotaRepository;
+    private final LeaveTimelineCache leaveTimelineCache;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final DepartmentService departmentService;
+
+    /**
+     * GiST exclusion constraint on leave_request (see V5 migration)
+     */
+    private static final String OVERLAP_CONSTRAINT = "ex_leave_request_no_overlap";
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
 
     @Value("${app.leave.max-auto-approvals-per-month:2}")
     private int maxAutoApprovalsPerMonth;
@@ -50,44 +73,57 @@ public class LeaveRequestService {
 
     /**
      * Get all leaves with pagination (ADMIN/MANAGER)
-     * MANAGERS can only see leaves from their own department
+     * MANAGERS can only see leaves of their direct and indirect reports
      * ADMINS can see all leaves
+     * An optional department narrows either view using leave_request.department_id
      */
-    public Page<LeaveResponseDTO> getAllLeaves(int page, int size, String sortBy, LeaveStatus status) {
+    @Transactional(readOnly = true)
+    public Page<LeaveResponseDTO> getAllLeaves(int page, int size, String sortBy, LeaveStatus status,
+                                               String department) {
         Sort sort = Sort.by(Sort.Direction.DESC, sortBy != null ? sortBy : "createdAt");
         Pageable pageable = PageRequest.of(page, size, sort);
+        Integer departmentId = null;
+        if (department != null && !department.isBlank()) {
+            departmentId = departmentService.findId(department);
+            if (departmentId == null) {
+                return Page.empty(pageable);
+            }
+        }
 
         User currentUser = getCurrentUser();
-        Employee currentEmployee = employeeService.getEmployeeByUserId(currentUser.getId());
 
         Page<LeaveRequest> leavePage;
 
         // ADMIN can see all leaves
         if (currentUser.getRole() == Role.ADMIN) {
-            if (status != null) {
+            if (departmentId != null) {
+                leavePage = status != null
+                        ? leaveRequestRepository.findByDepartmentIdAndStatus(departmentId, status, pageable)
+                        : leaveRequestRepository.findByDepartmentId(departmentId, pageable);
+            } else if (status != null) {
                 leavePage = leaveRequestRepository.findByStatus(status, pageable);
             } else {
                 leavePage = leaveRequestRepository.findAll(pageable);
             }
         }
-        // MANAGER can only see leaves from their department
+        // MANAGER can only see leaves of their reports
         else if (currentUser.getRole() == Role.MANAGER) {
-            String managerDepartment = currentEmployee.getDepartment();
-
-            if (managerDepartment == null || managerDepartment.trim().isEmpty()) {
-                throw new IllegalStateException("Manager must be assigned to a department");
-            }
-
-            if (status != null) {
-                leavePage = leaveRequestRepository.findByEmployeeDepartmentAndStatus(
-                        managerDepartment, status, pageable);
+            Long managerId = employeeService.getEmployeeByUserId(currentUser.getId()).getId();
+            if (departmentId != null) {
+                leavePage = status != null
+                        ? leaveRequestRepository.findByReportingManagerAndDepartmentAndStatus(
+                                managerId, departmentId, status, pageable)
+                        : leaveRequestRepository.findByReportingManagerAndDepartment(
+                                managerId, departmentId, pageable);
+            } else if (status != null) {
+                leavePage = leaveRequestRepository.findByReportingManagerAndStatus(
+                        managerId, status, pageable);
             } else {
-                leavePage = leaveRequestRepository.findByEmployeeDepartment(
-                        managerDepartment, pageable);
+                leavePage = leaveRequestRepository.findByReportingManager(
+                        managerId, pageable);
             }
 
-            log.info("Manager {} from {} department viewing leaves",
-                    currentUser.getUsername(), managerDepartment);
+            log.info("Manager {} viewing leaves of their reports", currentUser.getUsername());
         }
         else {
             throw new AccessDeniedException("Only ADMIN and MANAGER can view all leaves");
@@ -98,104 +134,173 @@ public class LeaveRequestService {
 
     /**
      * Approve leave (ADMIN/MANAGER only)
-     * MANAGER can only approve leaves from their own department
+     * MANAGER can only approve leaves of their reports
      */
     @Transactional
     public LeaveResponseDTO approveLeave(Long id) {
-        LeaveRequest leave = findLeaveById(id);
-
-        if (leave.getStatus() != LeaveStatus.PENDING) {
-            throw new InvalidLeaveRequestException(
-                    "Only PENDING leaves can be approved. Current status: " + leave.getStatus());
-        }
-
         User currentUser = getCurrentUser();
-
-        // Check department-based access for MANAGER
-        if (currentUser.getRole() == Role.MANAGER) {
-            Employee currentEmployee = employeeService.getEmployeeByUserId(currentUser.getId());
-            String managerDepartment = currentEmployee.getDepartment();
-            String employeeDepartment = leave.getEmployee().getDepartment();
-
-            if (!managerDepartment.equals(employeeDepartment)) {
-                throw new AccessDeniedException(
-                        String.format("You can only approve leaves from your department (%s). " +
-                                        "This leave is from %s department.",
-                                managerDepartment, employeeDepartment));
-            }
-
-            log.info("Manager {} from {} department approving leave for employee from same department",
-                    currentUser.getUsername(), managerDepartment);
-        }
-
-        leave.setStatus(LeaveStatus.APPROVED);
-        leave.setProcessedAt(LocalDateTime.now());
-        leave.setProcessedBy(currentUser);
-
-        LeaveRequest updated = leaveRequestRepository.save(leave);
+        LeaveRequest updated = transitionPending(id, LeaveStatus.APPROVED, currentUser, "approve");
        notificationService.createNotification(
-    leave.getEmployee().getUser(),
-    "Your leave request from " + leave.getStartDate() +
-    " to " + leave.getEndDate() + " has been approved."
+    updated.getEmployee().getUser(),
+    "Your leave request from " + updated.getStartDate() +
+    " to " + updated.getEndDate() + " has been approved."
 );
 
         // Send approval email
-        emailService.sendLeaveApprovedEmail(updated);
+        emailService.sendLeaveApprovedEmail(LeaveEmailDTO.from(updated));
 
         return mapToResponseDTO(updated);
     }
 
     /**
      * Reject leave (ADMIN/MANAGER only)
-     * MANAGER can only reject leaves from their own department
+     * MANAGER can only reject leaves of their reports
      */
     @Transactional
     public LeaveResponseDTO rejectLeave(Long id) {
-        LeaveRequest leave = findLeaveById(id);
+        User currentUser = getCurrentUser();
+        LeaveRequest updated = transitionPending(id, LeaveStatus.REJECTED, currentUser, "reject");
+        notificationService.createNotification(
+    updated.getEmployee().getUser(),
+    "Your leave request from " + updated.getStartDate() +
+    " to " + updated.getEndDate() + " has been rejected."
+);
 
-        if (leave.getStatus() != LeaveStatus.PENDING) {
-            throw new InvalidLeaveRequestException(
-                    "Only PENDING leaves can be rejected. Current status: " + leave.getStatus());
-        }
+        // Restore leave balance
+        int year = updated.getStartDate().getYear();
+        leaveBalanceService.restoreLeave(updated.getEmployee().getId(), updated.getWorkingDays(), year, updated.getId());
+
+        // Send rejection email
+        emailService.sendLeaveRejectedEmail(LeaveEmailDTO.from(updated));
+
+        return mapToResponseDTO(updated);
+    }
+
+    /**
+     * Approve several leaves in one transaction (ADMIN/MANAGER only)
+     */
+    @Transactional
+    public List<BulkLeaveResultDTO> approveLeaves(List<Long> ids) {
+        return processLeaves(ids, LeaveStatus.APPROVED);
+    }
+
+    /**
+     * Reject several leaves in one transaction (ADMIN/MANAGER only)
+     */
+    @Transactional
+    public List<BulkLeaveResultDTO> rejectLeaves(List<Long> ids) {
+        return processLeaves(ids, LeaveStatus.REJECTED);
+    }
+
+    /**
+     * Shared bulk path: one fetch for all leaves, one current-user lookup, then a guarded
+     * transition per leave, batched balance restores and notifications. A leave moved by a
+     * concurrent approve, reject or cancel simply fails its guard and is reported as a
+     * conflict for its id; nothing is checked in memory and saved back, so a lost race
+     * never rolls back the rest of the batch.
+     */
+    private List<BulkLeaveResultDTO> processLeaves(List<Long> ids, LeaveStatus targetStatus) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, LeaveRequest> leavesById = new HashMap<>();
+        leaveRequestRepository.findAllWithEmployeeByIdIn(uniqueIds)
+                .forEach(leave -> leavesById.put(leave.getId(), leave));
 
         User currentUser = getCurrentUser();
+        Long managerId = currentUser.getRole() == Role.MANAGER
+                ? employeeService.getEmployeeByUserId(currentUser.getId()).getId()
+                : null;
+        Set<Long> reportIds = managerId != null
+                ? new HashSet<>(employeeHierarchyService.getReportIds(managerId))
+                : null;
+
+        String action = targetStatus == LeaveStatus.APPROVED ? "approved" : "rejected";
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> errors = new HashMap<>();
+        Set<Long> transitioned = new LinkedHashSet<>();
+
+        for (Long id : uniqueIds) {
+            LeaveRequest leave = leavesById.get(id);
+
+            if (leave == null) {
+                errors.put(id, "Leave request not found with id: " + id);
+            } else if (reportIds != null && !reportIds.contains(leave.getEmployee().getId())) {
+                errors.put(id, "You can only process leaves of your reports");
+            } else if (leaveRequestRepository.transition(
+                    id, LeaveStatus.PENDING, targetStatus, currentUser, now, managerId) == 1) {
+                transitioned.add(id);
+            }
+        }
 
-        // Check department-based access for MANAGER
-        if (currentUser.getRole() == Role.MANAGER) {
-            Employee currentEmployee = employeeService.getEmployeeByUserId(currentUser.getId());
-            String managerDepartment = currentEmployee.getDepartment();
-            String employeeDepartment = leave.getEmployee().getDepartment();
+        // The guarded updates cleared the persistence context; read back the current state
+        // of every leave that was found, processed or not
+        Set<Long> reloadIds = new HashSet<>(leavesById.keySet());
+        reloadIds.removeAll(errors.keySet());
+        leavesById.clear();
+        if (!reloadIds.isEmpty()) {
+            leaveRequestRepository.findAllWithEmployeeByIdIn(reloadIds)
+                    .forEach(leave -> leavesById.put(leave.getId(), leave));
+        }
 
-            if (!managerDepartment.equals(employeeDepartment)) {
-                throw new AccessDeniedException(
-                        String.format("You can only reject leaves from your department (%s). " +
-                                        "This leave is from %s department.",
-                                managerDepartment, employeeDepartment));
+        List<BulkLeaveResultDTO> results = new ArrayList<>(uniqueIds.size());
+        List<LeaveRequest> processed = new ArrayList<>(transitioned.size());
+
+        for (Long id : uniqueIds) {
+            LeaveRequest leave = leavesById.get(id);
+
+            if (transitioned.contains(id)) {
+                processed.add(leave);
+                results.add(BulkLeaveResultDTO.builder()
+                        .id(id)
+                        .success(true)
+                        .status(targetStatus)
+                        .message("Leave " + action)
+                        .build());
+                continue;
             }
 
-            log.info("Manager {} from {} department rejecting leave for employee from same department",
-                    currentUser.getUsername(), managerDepartment);
+            String error = errors.get(id);
+            if (error == null) {
+                error = leave == null
+                        ? "Leave request not found with id: " + id
+                        : "Only PENDING leaves can be " + action + ". Current status: " + leave.getStatus();
+            }
+            results.add(BulkLeaveResultDTO.builder()
+                    .id(id)
+                    .success(false)
+                    .status(leave != null ? leave.getStatus() : null)
+                    .message(error)
+                    .build());
         }
 
-        leave.setStatus(LeaveStatus.REJECTED);
-        leave.setProcessedAt(LocalDateTime.now());
-        leave.setProcessedBy(currentUser);
+        if (processed.isEmpty()) {
+            return results;
+        }
 
-        LeaveRequest updated = leaveRequestRepository.save(leave);
-        notificationService.createNotification(
-    leave.getEmployee().getUser(),
-    "Your leave request from " + leave.getStartDate() +
-    " to " + leave.getEndDate() + " has been rejected."
-);
+        if (targetStatus == LeaveStatus.REJECTED) {
+            leaveBalanceService.restoreLeaves(processed);
+        }
 
-        // Restore leave balance
-        int year = leave.getStartDate().getYear();
-        leaveBalanceService.restoreLeave(leave.getEmployee().getId(), leave.getWorkingDays(), year);
+        List<User> recipients = new ArrayList<>(processed.size());
+        List<String> messages = new ArrayList<>(processed.size());
+        for (LeaveRequest leave : processed) {
+            recipients.add(leave.getEmployee().getUser());
+            messages.add("Your leave request from " + leave.getStartDate() +
+                    " to " + leave.getEndDate() + " has been " + action + ".");
+        }
+        notificationService.createNotifications(recipients, messages);
 
-        // Send rejection email
-        emailService.sendLeaveRejectedEmail(updated);
+        for (LeaveRequest leave : processed) {
+            leaveTimelineCache.recordChange(leave);
+            if (targetStatus == LeaveStatus.APPROVED) {
+                emailService.sendLeaveApprovedEmail(LeaveEmailDTO.from(leave));
+            } else {
+                emailService.sendLeaveRejectedEmail(LeaveEmailDTO.from(leave));
+            }
+        }
 
-        return mapToResponseDTO(updated);
+        log.info("User {} {} {} of {} leaves", currentUser.getUsername(), action, processed.size(), uniqueIds.size());
+
+        return results;
     }
 
     /**
@@ -217,6 +322,7 @@ public class LeaveRequestService {
 
         LeaveRequest leaveRequest = new LeaveRequest();
         leaveRequest.setEmployee(employee);
+        leaveRequest.setDepartmentId(employee.getDepartmentId());
         leaveRequest.setStartDate(dto.getStartDate());
         leaveRequest.setEndDate(dto.getEndDate());
         leaveRequest.setTotalDays(totalDays);
@@ -229,28 +335,22 @@ public class LeaveRequestService {
 
         if (shouldAutoApprove) {
             leaveRequest.setStatus(LeaveStatus.APPROVED);
+            leaveRequest.setAutoApproved(true);
             leaveRequest.setProcessedAt(LocalDateTime.now());
             log.info("Leave auto-approved for employee: {}", employee.getId());
         } else {
             leaveRequest.setStatus(LeaveStatus.PENDING);
         }
 
-        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
-        // Notify all managers of the same department
-       Page<User> managerPage = userRepository.findByRole(Role.MANAGER, Pageable.unpaged());
-        List<User> managers = managerPage.getContent();;
-
-for (User manager : managers) {
-    Employee managerEmployee = employeeService.getEmployeeByUserId(manager.getId());
-
-    if (managerEmployee.getDepartment().equals(employee.getDepartment())) {
-        notificationService.createNotification(
-            manager,
-            "New leave request submitted by " + employee.getName()
-        );
-    }
-}
-        emailService.sendLeaveAppliedEmail(saved);
+        LeaveRequest saved = insertLeave(leaveRequest);
+        leaveTimelineCache.recordChange(saved);
+        // Notify the approved managers in the employee's reporting chain
+        List<User> approvers = employeeHierarchyService.getApprovers(employee.getId());
+        if (!approvers.isEmpty()) {
+            notificationService.createNotifications(approvers, Collections.nCopies(
+                    approvers.size(), "New leave request submitted by " + employee.getName()));
+        }
+        emailService.sendLeaveAppliedEmail(LeaveEmailDTO.from(saved));
 
         return mapToResponseDTO(saved);
     }
@@ -258,6 +358,7 @@ for (User manager : managers) {
     /**
      * Get leaves by employee (EMPLOYEE can see own, ADMIN/MANAGER can see any)
      */
+    @Transactional(readOnly = true)
     public Page<LeaveResponseDTO> getLeavesByEmployee(Long employeeId, int page, int size, String sortBy) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"))) {
@@ -277,6 +378,7 @@ for (User manager : managers) {
     /**
      * Get leave by ID
      */
+    @Transactional(readOnly = true)
     public LeaveResponseDTO getLeaveById(Long id) {
         LeaveRequest leave = findLeaveById(id);
 
@@ -296,38 +398,86 @@ for (User manager : managers) {
      */
     @Transactional
     public LeaveResponseDTO cancelLeave(Long id) {
-        LeaveRequest leave = findLeaveById(id);
         Employee currentEmployee = getCurrentEmployee();
-
-        if (!leave.getEmployee().getId().equals(currentEmployee.getId())) {
-            throw new AccessDeniedException("You can only cancel your own leaves");
+        LocalDateTime now = LocalDateTime.now();
+
+        // Guarded updates: the status check and the change are one statement each,
+        // so a concurrent approve/reject/cancel cannot also succeed
+        boolean wasApproved = false;
+        int changed = leaveRequestRepository.cancelPending(id, currentEmployee.getId(), now);
+        if (changed == 0) {
+            changed = leaveRequestRepository.cancelApprovedNotStarted(id, currentEmployee.getId(), LocalDate.now(), now);
+            wasApproved = changed == 1;
         }
 
-        if (!(leave.getStatus() == LeaveStatus.PENDING ||
-      (leave.getStatus() == LeaveStatus.APPROVED &&
-       leave.getStartDate().isAfter(LocalDate.now())))) {
+        LeaveRequest updated = findLeaveById(id);
 
-    throw new InvalidLeaveRequestException(
-        "You can only cancel pending leaves or approved leaves that haven't started yet"
-    );
-}
+        if (changed == 0) {
+            if (!updated.getEmployee().getId().equals(currentEmployee.getId())) {
+                throw new AccessDeniedException("You can only cancel your own leaves");
+            }
+            throw new LeaveStateConflictException(
+                    "You can only cancel pending leaves or approved leaves that haven't started yet");
+        }
 
-        leave.setStatus(LeaveStatus.CANCELLED);
-        LeaveRequest updated = leaveRequestRepository.save(leave);
+        // Give the auto-approval back so the monthly quota only counts live approvals
+        if (wasApproved && Boolean.TRUE.equals(updated.getAutoApproved())) {
+            autoApprovalQuotaRepository.release(
+                    updated.getEmployee().getId(),
+                    updated.getStartDate().getYear(),
+                    updated.getStartDate().getMonthValue());
+        }
+
+        leaveTimelineCache.recordChange(updated);
         notificationService.createNotification(
-    leave.getEmployee().getUser(),
-    "Your leave request from " + leave.getStartDate() +
-    " to " + leave.getEndDate() + " has been cancelled."
+    updated.getEmployee().getUser(),
+    "Your leave request from " + updated.getStartDate() +
+    " to " + updated.getEndDate() + " has been cancelled."
 );
 
-        int year = leave.getStartDate().getYear();
-        leaveBalanceService.restoreLeave(leave.getEmployee().getId(), leave.getWorkingDays(), year);
+        int year = updated.getStartDate().getYear();
+        leaveBalanceService.restoreLeave(updated.getEmployee().getId(), updated.getWorkingDays(), year, updated.getId());
 
-        emailService.sendLeaveCancelledEmail(updated);
+        emailService.sendLeaveCancelledEmail(LeaveEmailDTO.from(updated));
 
         return mapToResponseDTO(updated);
     }
 
+    /**
+     * Move a PENDING leave to the target status with a single guarded UPDATE
+     * (no read-check-write), then reload it for notifications and the response.
+     * A MANAGER's reporting-line restriction is part of the same statement.
+     */
+    private LeaveRequest transitionPending(Long id, LeaveStatus targetStatus, User currentUser, String action) {
+        Long managerId = currentUser.getRole() == Role.MANAGER
+                ? employeeService.getEmployeeByUserId(currentUser.getId()).getId()
+                : null;
+
+        int changed = leaveRequestRepository.transition(
+                id, LeaveStatus.PENDING, targetStatus, currentUser, LocalDateTime.now(), managerId);
+
+        LeaveRequest leave = findLeaveById(id);
+        String pastTense = targetStatus.name().toLowerCase();
+
+        if (changed == 0) {
+            if (managerId != null && !employeeHierarchyService.isReport(managerId, leave.getEmployee().getId())) {
+                throw new AccessDeniedException(
+                        String.format("You can only %s leaves of your reports. %s does not report to you.",
+                                action, leave.getEmployee().getName()));
+            }
+            throw new LeaveStateConflictException(
+                    "Only PENDING leaves can be " + pastTense + ". Current status: " + leave.getStatus());
+        }
+
+        if (managerId != null) {
+            log.info("Manager {} {} leave of report {}",
+                    currentUser.getUsername(), pastTense, leave.getEmployee().getId());
+        }
+
+        leaveTimelineCache.recordChange(leave);
+        return leave;
+    }
+
     private void validateLeaveRequest(LeaveRequestDTO dto, Long employeeId, Long excludeLeaveId) {
         if (dto.getStartDate().isBefore(LocalDate.now())) {
             throw new InvalidLeaveRequestException("Start date cannot be before today");
@@ -341,34 +491,70 @@ for (User manager : managers) {
             throw new InvalidLeaveRequestException("Reason cannot be empty");
         }
 
-        boolean hasOverlap = leaveRequestRepository.existsOverlapping(
-                employeeId,
-                dto.getStartDate(),
-                dto.getEndDate(),
-                excludeLeaveId,
-                List.of(LeaveStatus.APPROVED, LeaveStatus.PENDING)
-        );
+        // Fast path only - the exclusion constraint is what actually guarantees no overlap.
+        // A cached hit may be stale, so it is confirmed against the DB before rejecting.
+        boolean hasOverlap = leaveTimelineCache.mayOverlap(employeeId, dto.getStartDate(), dto.getEndDate())
+                && leaveRequestRepository.existsOverlapping(
+                        employeeId,
+                        dto.getStartDate(),
+                        dto.getEndDate(),
+                        excludeLeaveId,
+                        List.of(LeaveStatus.APPROVED, LeaveStatus.PENDING)
+                );
 
         if (hasOverlap) {
             throw new LeaveOverlapException("Leave dates overlap with existing leave request");
         }
     }
 
+    /**
+     * Decide auto-approval and, if granted, take a slot from the employee's
+     * monthly quota in the same statement (one upsert on a unique key)
+     */
     private boolean checkAutoApproval(Long employeeId, BigDecimal workingDays, LocalDate startDate) {
         if (workingDays.compareTo(BigDecimal.valueOf(autoApprovalThreshold)) > 0) {
             return false;
         }
 
+        if (maxAutoApprovalsPerMonth <= 0) {
+            return false;
+        }
+
         int month = startDate.getMonthValue();
         int year = startDate.getYear();
 
-        long autoApprovedCount = leaveRequestRepository.countAutoApprovedInMonth(employeeId, month, year);
+        // Skip the upsert when the cached timeline already shows the quota used up
+        if (leaveTimelineCache.countAutoApproved(employeeId, year, month) >= maxAutoApprovalsPerMonth) {
+            return false;
+        }
+
+        return autoApprovalQuotaRepository.tryConsume(employeeId, year, month, maxAutoApprovalsPerMonth) == 1;
+    }
+
+    /**
+     * Insert and flush so a concurrent overlapping request surfaces here as a
+     * constraint violation instead of at commit time
+     */
+    private LeaveRequest insertLeave(LeaveRequest leaveRequest) {
+        try {
+            return leaveRequestRepository.saveAndFlush(leaveRequest);
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new LeaveOverlapException("Leave dates overlap with existing leave request");
+            }
+            throw ex;
+        }
+    }
 
-        return autoApprovedCount < maxAutoApprovalsPerMonth;
+    private boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        return cause instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION_STATE.equals(sqlException.getSQLState())
+                && String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT);
     }
 
     private LeaveRequest findLeaveById(Long id) {
-        return leaveRequestRepository.findById(id)
+        return leaveRequestRepository.findWithEmployeeById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave request not found with id: " + id));
     }
 
@@ -0,0 +1,281 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.LeaveIntervalView;
+import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.LeaveStatus;
+import com.company.leave_management_system.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded LRU cache of each employee's PENDING/APPROVED leave intervals.
+ * Intervals are kept as sorted epoch-day arrays so overlap and monthly
+ * auto-approval checks are a binary search instead of a query.
+ * Answers are advisory: the exclusion constraint and the quota upsert stay authoritative.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveTimelineCache {
+
+    private static final List<LeaveStatus> ACTIVE_STATUSES = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+    private static final byte APPROVED_FLAG = 1;
+    private static final byte AUTO_APPROVED_FLAG = 2;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    @Value("${app.leave.timeline-cache.max-employees:10000}")
+    private int maxEmployees;
+
+    private final Map<Long, Timeline> timelines = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+            return size() > maxEmployees;
+        }
+    };
+
+    /**
+     * Bumped (per stripe of employee ids) on every change so a load that raced a commit is not cached
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * True if the range may overlap an active leave; callers confirm a hit against the DB
+     */
+    public boolean mayOverlap(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return timeline(employeeId).overlaps(toDay(startDate), toDay(endDate));
+    }
+
+    /**
+     * Number of live auto-approved leaves starting in the given month
+     */
+    public int countAutoApproved(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return timeline(employeeId).countAutoApproved(toDay(yearMonth.atDay(1)), toDay(yearMonth.atEndOfMonth()));
+    }
+
+    /**
+     * Apply the leave's current status to the cached timeline once the surrounding transaction commits
+     */
+    public void recordChange(LeaveRequest leave) {
+        Long employeeId = leave.getEmployee().getId();
+        long id = leave.getId();
+        boolean active = ACTIVE_STATUSES.contains(leave.getStatus());
+        int start = toDay(leave.getStartDate());
+        int end = toDay(leave.getEndDate());
+        byte flags = flagsOf(leave.getStatus(), leave.getAutoApproved());
+
+        afterCommit(() -> {
+            generations.incrementAndGet(stripe(employeeId));
+            synchronized (timelines) {
+                Timeline current = timelines.get(employeeId);
+                if (current != null) {
+                    timelines.put(employeeId, active ? current.with(id, start, end, flags) : current.without(id));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop an employee's timeline after commit, for bulk changes that bypass recordChange
+     */
+    public void evict(Long employeeId) {
+        afterCommit(() -> {
+            generations.incrementAndGet(stripe(employeeId));
+            synchronized (timelines) {
+                timelines.remove(employeeId);
+            }
+        });
+    }
+
+    private Timeline timeline(Long employeeId) {
+        synchronized (timelines) {
+            Timeline cached = timelines.get(employeeId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        int stripe = stripe(employeeId);
+        long generation = generations.get(stripe);
+        Timeline loaded = Timeline.of(leaveRequestRepository.findIntervals(employeeId, ACTIVE_STATUSES));
+
+        synchronized (timelines) {
+            if (generations.get(stripe) == generation) {
+                timelines.putIfAbsent(employeeId, loaded);
+            } else {
+                log.debug("Timeline for employee {} changed while loading, not caching", employeeId);
+            }
+        }
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(Long employeeId) {
+        return (int) Math.floorMod(employeeId, (long) GENERATION_STRIPES);
+    }
+
+    private static int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static byte flagsOf(LeaveStatus status, Boolean autoApproved) {
+        byte flags = 0;
+        if (status == LeaveStatus.APPROVED) {
+            flags |= APPROVED_FLAG;
+        }
+        if (Boolean.TRUE.equals(autoApproved)) {
+            flags |= AUTO_APPROVED_FLAG;
+        }
+        return flags;
+    }
+
+    /**
+     * Immutable, start-sorted intervals of one employee. Active intervals never
+     * overlap (exclusion constraint), so ends are sorted too.
+     */
+    static final class Timeline {
+
+        private final long[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final byte[] flags;
+
+        private Timeline(long[] ids, int[] starts, int[] ends, byte[] flags) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.flags = flags;
+        }
+
+        static Timeline of(List<LeaveIntervalView> intervals) {
+            int size = intervals.size();
+            long[] ids = new long[size];
+            int[] starts = new int[size];
+            int[] ends = new int[size];
+            byte[] flags = new byte[size];
+
+            // Query orders by start date
+            for (int i = 0; i < size; i++) {
+                LeaveIntervalView interval = intervals.get(i);
+                ids[i] = interval.getId();
+                starts[i] = toDay(interval.getStartDate());
+                ends[i] = toDay(interval.getEndDate());
+                flags[i] = flagsOf(interval.getStatus(), interval.getAutoApproved());
+            }
+            return new Timeline(ids, starts, ends, flags);
+        }
+
+        boolean overlaps(int start, int end) {
+            // Only the last interval starting on or before `end` can reach back to `start`
+            int i = upperBound(starts, end) - 1;
+            return i >= 0 && ends[i] >= start;
+        }
+
+        int countAutoApproved(int from, int to) {
+            int count = 0;
+            for (int i = upperBound(starts, from - 1); i < starts.length && starts[i] <= to; i++) {
+                if ((flags[i] & (APPROVED_FLAG | AUTO_APPROVED_FLAG)) == (APPROVED_FLAG | AUTO_APPROVED_FLAG)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        Timeline with(long id, int start, int end, byte flag) {
+            Timeline base = without(id);
+            int size = base.ids.length;
+            int at = upperBound(base.starts, start);
+
+            long[] newIds = new long[size + 1];
+            int[] newStarts = new int[size + 1];
+            int[] newEnds = new int[size + 1];
+            byte[] newFlags = new byte[size + 1];
+
+            System.arraycopy(base.ids, 0, newIds, 0, at);
+            System.arraycopy(base.starts, 0, newStarts, 0, at);
+            System.arraycopy(base.ends, 0, newEnds, 0, at);
+            System.arraycopy(base.flags, 0, newFlags, 0, at);
+
+            newIds[at] = id;
+            newStarts[at] = start;
+            newEnds[at] = end;
+            newFlags[at] = flag;
+
+            System.arraycopy(base.ids, at, newIds, at + 1, size - at);
+            System.arraycopy(base.starts, at, newStarts, at + 1, size - at);
+            System.arraycopy(base.ends, at, newEnds, at + 1, size - at);
+            System.arraycopy(base.flags, at, newFlags, at + 1, size - at);
+
+            return new Timeline(newIds, newStarts, newEnds, newFlags);
+        }
+
+        Timeline without(long id) {
+            int at = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0) {
+                return this;
+            }
+
+            int size = ids.length;
+            long[] newIds = Arrays.copyOf(ids, size - 1);
+            int[] newStarts = Arrays.copyOf(starts, size - 1);
+            int[] newEnds = Arrays.copyOf(ends, size - 1);
+            byte[] newFlags = Arrays.copyOf(flags, size - 1);
+
+            System.arraycopy(ids, at + 1, newIds, at, size - at - 1);
+            System.arraycopy(starts, at + 1, newStarts, at, size - at - 1);
+            System.arraycopy(ends, at + 1, newEnds, at, size - at - 1);
+            System.arraycopy(flags, at + 1, newFlags, at, size - at - 1);
+
+            return new Timeline(newIds, newStarts, newEnds, newFlags);
+        }
+
+        /**
+         * Index of the first element greater than key
+         */
+        private static int upperBound(int[] values, int key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
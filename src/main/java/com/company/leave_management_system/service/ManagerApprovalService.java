@@ -1,23 +1,37 @@
 package com.company.leave_management_system.service;
 
+import com.company.leave_management_system.dto.BulkManagerResultDTO;
 import com.company.leave_management_system.dto.ManagerApprovalDTO;
+import com.company.leave_management_system.dto.ManagerApprovedEmailDTO;
+import com.company.leave_management_system.entity.Employee;
 import com.company.leave_management_system.entity.User;
 import com.company.leave_management_system.enums.Role;
 import com.company.leave_management_system.repository.EmployeeRepository;
 import com.company.leave_management_system.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ManagerApprovalService {
 
+    /**
+     * Sort fields backed by an index on users (role[, is_approved], field)
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "username");
+
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
     private final EmailService emailService; // NEW: Inject email service
@@ -26,21 +40,29 @@ public class ManagerApprovalService {
     /**
      * Get pending managers (not approved yet)
      */
-    public Page<ManagerApprovalDTO> getPendingManagers(Pageable pageable) {
-        Page<User> managers = userRepository.findByRoleAndIsApproved(
+    @Transactional(readOnly = true)
+    public Page<ManagerApprovalDTO> getPendingManagers(int page, int size, String sortBy) {
+        return userRepository.findApprovalViewsByRoleAndIsApproved(
                 Role.MANAGER,
                 false,
-                pageable
+                pageRequest(page, size, sortBy)
         );
-        return managers.map(this::convertToDTO);
     }
 
     /**
      * Get all managers
      */
-    public Page<ManagerApprovalDTO> getAllManagers(Pageable pageable) {
-        Page<User> managers = userRepository.findByRole(Role.MANAGER, pageable);
-        return managers.map(this::convertToDTO);
+    @Transactional(readOnly = true)
+    public Page<ManagerApprovalDTO> getAllManagers(int page, int size, String sortBy) {
+        return userRepository.findApprovalViewsByRole(Role.MANAGER, pageRequest(page, size, sortBy));
+    }
+
+    private Pageable pageRequest(int page, int size, String sortBy) {
+        String field = sortBy != null ? sortBy : "createdAt";
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort managers by '" + field + "'. Allowed: " + SORTABLE_FIELDS);
+        }
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, field));
     }
 
     /**
@@ -72,14 +94,69 @@ public class ManagerApprovalService {
 
         // NEW: Send approval email to manager
         employeeRepository.findByUserId(manager.getId()).ifPresent(employee -> {
-            emailService.sendManagerApprovedEmail(
+            emailService.sendManagerApprovedEmail(new ManagerApprovedEmailDTO(
                     employee.getEmail(),
                     employee.getName(),
                     adminUsername
-            );
+            ));
         });
     }
 
+    /**
+     * Approve several pending managers with one UPDATE, one batched notification
+     * insert and one async email task. Ids that are not pending managers are skipped.
+     */
+    @Transactional
+    public BulkManagerResultDTO approveManagers(List<Long> ids) {
+        String adminUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> uniqueIds = ids.stream().distinct().toList();
+        List<User> managers = userRepository.lockByIdInAndRoleAndIsApproved(uniqueIds, Role.MANAGER, false);
+        List<Long> managerIds = managers.stream().map(User::getId).toList();
+        if (!managers.isEmpty()) {
+            userRepository.updateApproval(managerIds, true, adminUsername, now, now);
+
+            String message = "Your manager account has been approved by admin: " + adminUsername;
+            notificationService.createNotifications(managers, Collections.nCopies(managers.size(), message));
+
+            List<ManagerApprovedEmailDTO> emails = new ArrayList<>(managers.size());
+            for (Employee employee : employeeRepository.findByUserIdIn(managerIds)) {
+                emails.add(new ManagerApprovedEmailDTO(employee.getEmail(), employee.getName(), adminUsername));
+            }
+            emailService.sendManagerApprovedEmails(emails);
+        }
+
+        return bulkResult(uniqueIds, managerIds);
+    }
+
+    /**
+     * Revoke the approval of several approved managers with one UPDATE and one
+     * batched notification insert. Ids that are not approved managers are skipped.
+     */
+    @Transactional
+    public BulkManagerResultDTO rejectManagers(List<Long> ids) {
+        List<Long> uniqueIds = ids.stream().distinct().toList();
+        List<User> managers = userRepository.lockByIdInAndRoleAndIsApproved(uniqueIds, Role.MANAGER, true);
+        List<Long> managerIds = managers.stream().map(User::getId).toList();
+        if (!managers.isEmpty()) {
+            userRepository.updateApproval(managerIds, false, null, null, LocalDateTime.now());
+
+            String message = "Your manager approval has been revoked by admin.";
+            notificationService.createNotifications(managers, Collections.nCopies(managers.size(), message));
+        }
+
+        return bulkResult(uniqueIds, managerIds);
+    }
+
+    private BulkManagerResultDTO bulkResult(List<Long> requestedIds, List<Long> updatedIds) {
+        Set<Long> updated = Set.copyOf(updatedIds);
+        return BulkManagerResultDTO.builder()
+                .updatedIds(updatedIds)
+                .skippedIds(requestedIds.stream().filter(id -> !updated.contains(id)).toList())
+                .build();
+    }
+
     /**
      * Reject manager - remove permission to approve/reject leaves
      */
@@ -102,26 +179,4 @@ public class ManagerApprovalService {
 );
     }
 
-    /**
-     * Convert User to DTO
-     */
-    private ManagerApprovalDTO convertToDTO(User user) {
-        ManagerApprovalDTO dto = new ManagerApprovalDTO();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setIsApproved(user.getIsApproved());
-        dto.setApprovedBy(user.getApprovedBy());
-        dto.setApprovedAt(user.getApprovedAt());
-        dto.setCreatedAt(user.getCreatedAt());
-
-        // Get employee details
-        employeeRepository.findByUserId(user.getId()).ifPresent(employee -> {
-            dto.setEmployeeName(employee.getName());
-            dto.setEmployeeEmail(employee.getEmail());
-            dto.setDepartment(employee.getDepartment());
-        });
-
-        return dto;
-    }
-
 }
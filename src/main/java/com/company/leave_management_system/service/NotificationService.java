@@ -1,11 +1,14 @@
 package com.company.leave_management_system.service;
 
+import com.company.leave_management_system.dto.NotificationDTO;
 import com.company.leave_management_system.entity.Notification;
 import com.company.leave_management_system.entity.User;
 import com.company.leave_management_system.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -24,12 +27,30 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
-    public List<Notification> getUserNotifications(User user) {
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+    /**
+     * Create one notification per (user, message) pair in a single batched insert
+     */
+    public void createNotifications(List<User> users, List<String> messages) {
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            notifications.add(Notification.builder()
+                    .user(users.get(i))
+                    .message(messages.get(i))
+                    .isRead(false)
+                    .build());
+        }
+
+        notificationRepository.saveAll(notifications);
     }
 
-    public Long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndIsReadFalse(user);
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUserNotifications(String username) {
+        return notificationRepository.findViewsByUsername(username);
+    }
+
+    @Transactional(readOnly = true)
+    public Long getUnreadCount(String username) {
+        return notificationRepository.countUnreadByUsername(username);
     }
 
     public void markAsRead(Long notificationId) {
@@ -0,0 +1,52 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.SecondLevelCacheStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-region hit ratios of the Hibernate second-level cache (entity, natural-id and query regions)
+ */
+@Service
+@RequiredArgsConstructor
+public class SecondLevelCacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<SecondLevelCacheStatsDTO> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<SecondLevelCacheStatsDTO> regions = new ArrayList<>();
+        for (String region : sorted(statistics.getSecondLevelCacheRegionNames())) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long hits = stats.getHitCount();
+            long misses = stats.getMissCount();
+            long size = stats.getElementCountInMemory();
+            regions.add(SecondLevelCacheStatsDTO.builder()
+                    .region(region)
+                    .size(size < 0 ? null : size)
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRate(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                    .puts(stats.getPutCount())
+                    .build());
+        }
+        return regions;
+    }
+
+    private static String[] sorted(String[] names) {
+        String[] copy = names.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -9,7 +9,8 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Service to calculate working days excluding weekends and festival holidays
@@ -29,6 +30,20 @@ public class WorkingDayCalculator {
      * @return Number of working days (0.5 for half day, integer for full days)
      */
     public BigDecimal calculateWorkingDays(LocalDate startDate, LocalDate endDate, LeaveDuration duration) {
+        LocalDate rangeEnd = duration == LeaveDuration.HALF_DAY ? startDate : endDate;
+
+        // Get all holidays in the date range
+        Set<LocalDate> holidays = new HashSet<>(festivalHolidayRepository.findHolidayDatesBetween(startDate, rangeEnd));
+
+        return calculateWorkingDays(startDate, endDate, duration, holidays);
+    }
+
+    /**
+     * Same as {@link #calculateWorkingDays(LocalDate, LocalDate, LeaveDuration)} but against a
+     * preloaded holiday set, for bulk callers that must not query per leave
+     */
+    public BigDecimal calculateWorkingDays(LocalDate startDate, LocalDate endDate, LeaveDuration duration,
+                                           Set<LocalDate> holidays) {
         // For half-day leave
         if (duration == LeaveDuration.HALF_DAY) {
             // Validate: half-day must be on a working day
@@ -36,9 +51,7 @@ public class WorkingDayCalculator {
                 throw new InvalidLeaveRequestException("Half-day leave cannot be on weekend");
             }
 
-            // Get holidays in range
-            List<LocalDate> holidays = festivalHolidayRepository.findHolidayDatesBetween(startDate, startDate);
-            if (!holidays.isEmpty()) {
+            if (holidays.contains(startDate)) {
                 throw new InvalidLeaveRequestException("Half-day leave cannot be on a festival holiday");
             }
 
@@ -49,9 +62,6 @@ public class WorkingDayCalculator {
         BigDecimal workingDays = BigDecimal.ZERO;
         LocalDate current = startDate;
 
-        // Get all holidays in the date range
-        List<LocalDate> holidays = festivalHolidayRepository.findHolidayDatesBetween(startDate, endDate);
-
         while (!current.isAfter(endDate)) {
             // Count only if not weekend and not holiday
             if (!isWeekend(current) && !holidays.contains(current)) {
@@ -0,0 +1,212 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.dto.YearEndRolloverJobDTO;
+import com.company.leave_management_system.entity.YearEndRolloverJob;
+import com.company.leave_management_system.enums.RolloverJobStatus;
+import com.company.leave_management_system.exception.LeaveStateConflictException;
+import com.company.leave_management_system.exception.ResourceNotFoundException;
+import com.company.leave_management_system.repository.EmployeeLeaveBalanceRepository;
+import com.company.leave_management_system.repository.YearEndRolloverJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admin-triggered year-end rollover of every leave balance in a year.
+ * A dispatcher thread pages through not-yet-rolled-over balances by id and hands
+ * each chunk to a fixed-size worker pool. Every chunk commits its balance changes
+ * and the job's progress together, so a crashed or failed job resumes where it
+ * stopped (RUNNING jobs are picked up again on startup).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class YearEndRolloverService {
+
+    private static final long RETRY_DELAY_MS = 200;
+
+    private final YearEndRolloverJobRepository jobRepository;
+    private final EmployeeLeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.leave.rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.leave.rollover.parallelism:4}")
+    private int parallelism;
+
+    private final Set<Integer> runningYears = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService dispatcher;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void startExecutors() {
+        dispatcher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("rollover-dispatch-"));
+        workers = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("rollover-worker-"));
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Start the rollover for a year, or resume it if a previous run failed or was interrupted
+     */
+    public YearEndRolloverJobDTO startRollover(Integer year, String username) {
+        if (!runningYears.add(year)) {
+            throw new LeaveStateConflictException("Year-end rollover for " + year + " is already running");
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            YearEndRolloverJob job = jobRepository.findByYear(year).orElseGet(YearEndRolloverJob::new);
+            job.setYear(year);
+            job.setStatus(RolloverJobStatus.RUNNING);
+            job.setTotalBalances(leaveBalanceRepository.countByYear(year));
+            job.setLastError(null);
+            job.setStartedBy(username);
+            job.setStartedAt(now);
+            job.setFinishedAt(null);
+            job.setUpdatedAt(now);
+            job = jobRepository.save(job);
+
+            launch(job.getId(), year);
+            return mapToDTO(job);
+        } catch (RuntimeException ex) {
+            runningYears.remove(year);
+            throw ex;
+        }
+    }
+
+    public YearEndRolloverJobDTO getRollover(Integer year) {
+        return jobRepository.findByYear(year)
+                .map(this::mapToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("No year-end rollover found for year " + year));
+    }
+
+    /**
+     * Resume jobs that were still RUNNING when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (YearEndRolloverJob job : jobRepository.findByStatus(RolloverJobStatus.RUNNING)) {
+            if (runningYears.add(job.getYear())) {
+                log.info("Resuming interrupted year-end rollover for {}", job.getYear());
+                launch(job.getId(), job.getYear());
+            }
+        }
+    }
+
+    private void launch(Long jobId, Integer year) {
+        dispatcher.execute(() -> {
+            try {
+                run(jobId, year);
+            } finally {
+                runningYears.remove(year);
+            }
+        });
+    }
+
+    private void run(Long jobId, Integer year) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // At most two chunks queued per worker, so reading ids never runs far ahead
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<Integer>> chunks = new ArrayList<>();
+
+        try {
+            // Chunks skip rows locked by another transaction, so passes repeat until none are pending
+            while (true) {
+                boolean pending = false;
+                long afterId = 0;
+                while (true) {
+                    List<Long> ids = leaveBalanceRepository.findRolloverPendingIds(year, afterId, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    pending = true;
+                    afterId = ids.get(ids.size() - 1);
+
+                    inFlight.acquire();
+                    chunks.add(workers.submit(() -> {
+                        try {
+                            return transaction.execute(status -> {
+                                LeaveBalanceService.RolloverResult result = leaveBalanceService.rolloverChunk(year, ids);
+                                jobRepository.addProgress(jobId, result.processed(), result.defaulted(), LocalDateTime.now());
+                                return result.processed();
+                            });
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                if (!pending) {
+                    break;
+                }
+
+                int processed = 0;
+                for (Future<Integer> chunk : chunks) {
+                    processed += chunk.get();
+                }
+                chunks.clear();
+                if (processed == 0) {
+                    // Everything left is locked by short balance updates; give them a moment
+                    Thread.sleep(RETRY_DELAY_MS);
+                }
+            }
+
+            jobRepository.finish(jobId, RolloverJobStatus.COMPLETED, null, LocalDateTime.now());
+            log.info("Year-end rollover for {} completed", year);
+        } catch (InterruptedException ex) {
+            // Shutting down: leave the job RUNNING so it resumes on the next start
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+        } catch (ExecutionException | RuntimeException ex) {
+            Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+            chunks.forEach(chunk -> chunk.cancel(false));
+            log.error("Year-end rollover for {} failed", year, cause);
+            jobRepository.finish(jobId, RolloverJobStatus.FAILED, String.valueOf(cause.getMessage()), LocalDateTime.now());
+        }
+    }
+
+    private YearEndRolloverJobDTO mapToDTO(YearEndRolloverJob job) {
+        long total = job.getTotalBalances();
+        return YearEndRolloverJobDTO.builder()
+                .id(job.getId())
+                .year(job.getYear())
+                .status(job.getStatus())
+                .totalBalances(total)
+                .processedBalances(job.getProcessedBalances())
+                .defaultedBalances(job.getDefaultedBalances())
+                .percentComplete(total == 0 ? 100.0 : Math.min(100.0, job.getProcessedBalances() * 100.0 / total))
+                .lastError(job.getLastError())
+                .startedBy(job.getStartedBy())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
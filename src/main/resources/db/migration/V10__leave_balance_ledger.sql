@@ -0,0 +1,44 @@
+-- ===============================================================
+-- Append-only leave balance ledger with periodic snapshots
+-- ===============================================================
+
+-- employee_leave_balance now holds the totals as of snapshot_at; later changes
+-- live in leave_balance_ledger until the snapshot job folds them in
+ALTER TABLE employee_leave_balance ADD COLUMN snapshot_at TIMESTAMP(6);
+UPDATE employee_leave_balance SET snapshot_at = now();
+ALTER TABLE employee_leave_balance ALTER COLUMN snapshot_at SET NOT NULL;
+
+CREATE SEQUENCE leave_balance_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE leave_balance_ledger (
+    id                BIGINT        NOT NULL,
+    employee_id       BIGINT        NOT NULL REFERENCES employee (id),
+    year              INTEGER       NOT NULL,
+    entry_type        VARCHAR(20)   NOT NULL,
+    used_delta        NUMERIC(5, 1) NOT NULL DEFAULT 0,
+    entitlement_delta NUMERIC(5, 1) NOT NULL DEFAULT 0,
+    leave_request_id  BIGINT,
+    note              VARCHAR(255),
+    created_by        VARCHAR(50),
+    created_at        TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT leave_balance_ledger_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_leave_balance_ledger_employee_year_created
+    ON leave_balance_ledger (employee_id, year, created_at);
+
+CREATE SEQUENCE leave_balance_snapshot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE leave_balance_snapshot (
+    id                BIGINT        NOT NULL,
+    employee_id       BIGINT        NOT NULL REFERENCES employee (id),
+    year              INTEGER       NOT NULL,
+    total_entitlement NUMERIC(4, 1) NOT NULL,
+    used_leaves       NUMERIC(4, 1) NOT NULL,
+    carried_forward   NUMERIC(4, 1) NOT NULL,
+    snapshot_at       TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT leave_balance_snapshot_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_leave_balance_snapshot_employee_year_at
+    ON leave_balance_snapshot (employee_id, year, snapshot_at);
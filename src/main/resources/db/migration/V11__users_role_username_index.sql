@@ -0,0 +1,10 @@
+-- ===============================================================
+-- Manager approval listing sorted by username
+-- ===============================================================
+
+-- ManagerApprovalService whitelists createdAt (V3 indexes) and username
+CREATE INDEX IF NOT EXISTS idx_users_role_approved_username
+    ON users (role, is_approved, username);
+
+CREATE INDEX IF NOT EXISTS idx_users_role_username
+    ON users (role, username);
@@ -0,0 +1,19 @@
+-- ===============================================================
+-- Employee directory: keyset paging and trigram search
+-- ===============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Keyset order (name, id)
+CREATE INDEX IF NOT EXISTS idx_employee_name_id
+    ON employee (name, id);
+
+-- Prefix (LIKE 'q%') and fuzzy (%) matching on lower-cased values
+CREATE INDEX IF NOT EXISTS idx_employee_name_trgm
+    ON employee USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employee_email_trgm
+    ON employee USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employee_department_trgm
+    ON employee USING gin (lower(department) gin_trgm_ops);
@@ -0,0 +1,50 @@
+-- ===============================================================
+-- Reporting hierarchy: manager_id on employee plus a closure table
+-- ===============================================================
+
+ALTER TABLE employee ADD COLUMN manager_id BIGINT REFERENCES employee (id);
+
+CREATE INDEX idx_employee_manager_id ON employee (manager_id);
+
+-- One row per (ancestor, descendant) pair at depth >= 1; employees are not their own ancestors
+CREATE SEQUENCE employee_hierarchy_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE employee_hierarchy (
+    id            BIGINT  NOT NULL,
+    ancestor_id   BIGINT  NOT NULL REFERENCES employee (id),
+    descendant_id BIGINT  NOT NULL REFERENCES employee (id),
+    depth         INTEGER NOT NULL CHECK (depth > 0),
+    CONSTRAINT employee_hierarchy_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_employee_hierarchy_ancestor_descendant UNIQUE (ancestor_id, descendant_id)
+);
+
+-- "Who can approve for X" walks up from the descendant; "reports under Y" uses the unique index
+CREATE INDEX idx_employee_hierarchy_descendant ON employee_hierarchy (descendant_id, depth);
+
+-- Backfill: employees report to the oldest approved manager of their department,
+-- who could already approve their leaves
+UPDATE employee e
+SET manager_id = (SELECT min(m.id)
+                  FROM employee m
+                  JOIN users mu ON mu.id = m.user_id
+                  WHERE mu.role = 'MANAGER'
+                    AND mu.is_approved
+                    AND m.department = e.department)
+FROM users u
+WHERE u.id = e.user_id
+  AND u.role = 'EMPLOYEE'
+  AND e.department IS NOT NULL;
+
+WITH RECURSIVE chain (ancestor_id, descendant_id, depth) AS (
+    SELECT manager_id, id, 1
+    FROM employee
+    WHERE manager_id IS NOT NULL
+    UNION ALL
+    SELECT e.manager_id, c.descendant_id, c.depth + 1
+    FROM chain c
+    JOIN employee e ON e.id = c.ancestor_id
+    WHERE e.manager_id IS NOT NULL
+)
+INSERT INTO employee_hierarchy (id, ancestor_id, descendant_id, depth)
+SELECT nextval('employee_hierarchy_seq'), ancestor_id, descendant_id, depth
+FROM chain;
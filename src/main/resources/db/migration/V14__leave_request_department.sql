@@ -0,0 +1,16 @@
+-- ===============================================================
+-- Denormalized department on leave_request
+-- ===============================================================
+
+-- Copy of employee.department, rewritten by EmployeeService.changeDepartment,
+-- so department inboxes filter and sort leave_request without joining employee
+ALTER TABLE leave_request ADD COLUMN department VARCHAR(50);
+
+UPDATE leave_request lr
+SET department = e.department
+FROM employee e
+WHERE e.id = lr.employee_id;
+
+-- LeaveRequestRepository.findByDepartmentAndStatus (sorted by createdAt)
+CREATE INDEX idx_leave_request_department_status_created
+    ON leave_request (department, status, created_at DESC);
@@ -0,0 +1,51 @@
+-- ===============================================================
+-- Departments as a reference table with integer ids
+-- ===============================================================
+
+-- Departments are created rarely, so ids are allocated one at a time and stay compact
+CREATE SEQUENCE department_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE department (
+    id         INTEGER      NOT NULL,
+    name       VARCHAR(50)  NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT department_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_department_name UNIQUE (name)
+);
+
+INSERT INTO department (id, name, created_at)
+SELECT nextval('department_seq'), name, now()
+FROM (SELECT department AS name FROM employee WHERE department IS NOT NULL
+      UNION
+      SELECT department FROM leave_request WHERE department IS NOT NULL) names;
+
+ALTER TABLE employee ADD COLUMN department_id INTEGER REFERENCES department (id);
+
+UPDATE employee e
+SET department_id = d.id
+FROM department d
+WHERE d.name = e.department;
+
+ALTER TABLE leave_request ADD COLUMN department_id INTEGER REFERENCES department (id);
+
+UPDATE leave_request lr
+SET department_id = d.id
+FROM department d
+WHERE d.name = lr.department;
+
+-- The string columns go, together with idx_employee_department, idx_employee_department_trgm
+-- and idx_leave_request_department_status_created
+DROP INDEX IF EXISTS idx_employee_department;
+DROP INDEX IF EXISTS idx_employee_department_trgm;
+DROP INDEX IF EXISTS idx_leave_request_department_status_created;
+
+ALTER TABLE employee DROP COLUMN department;
+ALTER TABLE leave_request DROP COLUMN department;
+
+-- Directory filtered by department, in keyset order; also the department-manager lookup
+CREATE INDEX idx_employee_department_name_id
+    ON employee (department_id, name, id);
+
+-- LeaveRequestRepository.findByDepartmentIdAndStatus (sorted by createdAt)
+CREATE INDEX idx_leave_request_department_status_created
+    ON leave_request (department_id, status, created_at DESC);
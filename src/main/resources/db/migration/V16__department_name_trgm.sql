@@ -0,0 +1,8 @@
+-- ===============================================================
+-- Directory search on department name
+-- ===============================================================
+
+-- V15 dropped idx_employee_department_trgm with the string column; the directory
+-- search now matches department names through this table
+CREATE INDEX IF NOT EXISTS idx_department_name_trgm
+    ON department USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,101 @@
+-- ===============================================================
+-- Baseline schema (previously created by ddl-auto=update)
+--
+-- Existing databases are baselined at this version by
+-- spring.flyway.baseline-on-migrate and skip this script.
+-- ===============================================================
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employee_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employee_leave_balance_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE festival_holiday_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE leave_request_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE notifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE email_log_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id          BIGINT       NOT NULL,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(20)  NOT NULL CHECK (role IN ('EMPLOYEE', 'ADMIN', 'MANAGER')),
+    enabled     BOOLEAN      NOT NULL,
+    is_approved BOOLEAN      NOT NULL,
+    approved_by VARCHAR(50),
+    approved_at TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE employee (
+    id         BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL UNIQUE REFERENCES users (id),
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(100) NOT NULL UNIQUE,
+    department VARCHAR(50),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE employee_leave_balance (
+    id                   BIGINT  NOT NULL,
+    employee_id          BIGINT  NOT NULL REFERENCES employee (id),
+    year                 INTEGER NOT NULL,
+    total_entitlement    NUMERIC(4, 1),
+    used_leaves          NUMERIC(4, 1),
+    remaining_leaves     NUMERIC(4, 1),
+    carried_forward      NUMERIC(4, 1),
+    year_end_action      VARCHAR(20) CHECK (year_end_action IN ('CARRY_FORWARD', 'ENCASHMENT')),
+    year_end_action_date TIMESTAMP(6),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE festival_holiday (
+    id         BIGINT       NOT NULL,
+    name       VARCHAR(100) NOT NULL,
+    date       DATE         NOT NULL UNIQUE,
+    year       INTEGER      NOT NULL,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE leave_request (
+    id            BIGINT        NOT NULL,
+    employee_id   BIGINT        NOT NULL REFERENCES employee (id),
+    start_date    DATE          NOT NULL,
+    end_date      DATE          NOT NULL,
+    total_days    NUMERIC(4, 1) NOT NULL,
+    working_days  NUMERIC(4, 1) NOT NULL,
+    reason        TEXT          NOT NULL,
+    status        VARCHAR(20)   NOT NULL CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'CANCELLED')),
+    duration      VARCHAR(20)   NOT NULL CHECK (duration IN ('FULL_DAY', 'HALF_DAY')),
+    half_day_type VARCHAR(20) CHECK (half_day_type IN ('FIRST_HALF', 'SECOND_HALF')),
+    processed_at  TIMESTAMP(6),
+    processed_by  BIGINT REFERENCES users (id),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id         BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL REFERENCES users (id),
+    message    VARCHAR(255) NOT NULL,
+    is_read    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE email_log (
+    id            BIGINT       NOT NULL,
+    recipient     VARCHAR(255) NOT NULL,
+    subject       VARCHAR(255) NOT NULL,
+    body          TEXT         NOT NULL,
+    sent_at       TIMESTAMP(6),
+    status        VARCHAR(20),
+    error_message TEXT,
+    PRIMARY KEY (id)
+);
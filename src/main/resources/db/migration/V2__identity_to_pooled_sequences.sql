@@ -0,0 +1,50 @@
+-- ===============================================================
+-- Switch primary keys from serial/identity columns to pooled sequences
+--
+-- Databases created by ddl-auto=update still have serial/identity
+-- ids; on a fresh V1 schema every statement here is a no-op.
+-- Each sequence is positioned so that the first pooled block handed
+-- out by Hibernate (hi - 49 .. hi) starts right after MAX(id).
+-- ===============================================================
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50, false);
+
+ALTER TABLE employee ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employee ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS employee_id_seq;
+CREATE SEQUENCE IF NOT EXISTS employee_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('employee_seq', (SELECT COALESCE(MAX(id), 0) FROM employee) + 50, false);
+
+ALTER TABLE employee_leave_balance ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employee_leave_balance ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS employee_leave_balance_id_seq;
+CREATE SEQUENCE IF NOT EXISTS employee_leave_balance_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('employee_leave_balance_seq', (SELECT COALESCE(MAX(id), 0) FROM employee_leave_balance) + 50, false);
+
+ALTER TABLE festival_holiday ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE festival_holiday ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS festival_holiday_id_seq;
+CREATE SEQUENCE IF NOT EXISTS festival_holiday_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('festival_holiday_seq', (SELECT COALESCE(MAX(id), 0) FROM festival_holiday) + 50, false);
+
+ALTER TABLE leave_request ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE leave_request ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS leave_request_id_seq;
+CREATE SEQUENCE IF NOT EXISTS leave_request_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('leave_request_seq', (SELECT COALESCE(MAX(id), 0) FROM leave_request) + 50, false);
+
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE notifications ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS notifications_id_seq;
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('notifications_seq', (SELECT COALESCE(MAX(id), 0) FROM notifications) + 50, false);
+
+ALTER TABLE email_log ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE email_log ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS email_log_id_seq;
+CREATE SEQUENCE IF NOT EXISTS email_log_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('email_log_seq', (SELECT COALESCE(MAX(id), 0) FROM email_log) + 50, false);
@@ -0,0 +1,47 @@
+-- ===============================================================
+-- Secondary indexes matched to repository queries
+-- ===============================================================
+
+-- LeaveRequestRepository.findByEmployeeId (sorted by createdAt)
+CREATE INDEX IF NOT EXISTS idx_leave_request_employee_created
+    ON leave_request (employee_id, created_at DESC);
+
+-- LeaveRequestRepository.findByStatus (sorted by createdAt)
+CREATE INDEX IF NOT EXISTS idx_leave_request_status_created
+    ON leave_request (status, created_at DESC);
+
+-- LeaveRequestRepository.findAll(Pageable) for the admin view (sorted by createdAt)
+CREATE INDEX IF NOT EXISTS idx_leave_request_created
+    ON leave_request (created_at DESC);
+
+-- LeaveRequestRepository.existsOverlapping / countAutoApprovedInMonth
+CREATE INDEX IF NOT EXISTS idx_leave_request_employee_status_dates
+    ON leave_request (employee_id, status, start_date, end_date);
+
+-- LeaveRequestRepository.findByEmployeeDepartment[AndStatus] join predicate
+CREATE INDEX IF NOT EXISTS idx_employee_department
+    ON employee (department);
+
+-- EmployeeLeaveBalanceRepository.findByEmployeeIdAndYear
+CREATE INDEX IF NOT EXISTS idx_employee_leave_balance_employee_year
+    ON employee_leave_balance (employee_id, year);
+
+-- FestivalHolidayRepository.findByYear (findHolidayDatesBetween uses the unique date index)
+CREATE INDEX IF NOT EXISTS idx_festival_holiday_year
+    ON festival_holiday (year);
+
+-- NotificationRepository.findByUserOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC);
+
+-- NotificationRepository.countByUserAndIsReadFalse
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id)
+    WHERE is_read = FALSE;
+
+-- UserRepository.findByRoleAndIsApproved / findByRole (sorted by createdAt)
+CREATE INDEX IF NOT EXISTS idx_users_role_approved_created
+    ON users (role, is_approved, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_users_role_created
+    ON users (role, created_at DESC);
@@ -0,0 +1,37 @@
+-- ===============================================================
+-- Explicit auto-approval flag and per-month quota counter
+-- ===============================================================
+
+ALTER TABLE leave_request ADD COLUMN auto_approved BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Auto-approved leaves were stamped processed_at at creation time and never had a processed_by
+UPDATE leave_request
+SET auto_approved = TRUE
+WHERE processed_by IS NULL
+  AND processed_at IS NOT NULL
+  AND processed_at < created_at + INTERVAL '5 seconds';
+
+CREATE SEQUENCE auto_approval_quota_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE auto_approval_quota (
+    id          BIGINT  NOT NULL,
+    employee_id BIGINT  NOT NULL REFERENCES employee (id),
+    year        INTEGER NOT NULL,
+    month       INTEGER NOT NULL,
+    used_count  INTEGER NOT NULL,
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_auto_approval_quota_employee_period UNIQUE (employee_id, year, month)
+);
+
+-- Quota is keyed by the month the leave starts in, as checkAutoApproval has always looked it up
+INSERT INTO auto_approval_quota (id, employee_id, year, month, used_count, updated_at)
+SELECT nextval('auto_approval_quota_seq'), q.employee_id, q.year, q.month, q.used_count, now()
+FROM (SELECT employee_id,
+             EXTRACT(YEAR FROM start_date)::INTEGER  AS year,
+             EXTRACT(MONTH FROM start_date)::INTEGER AS month,
+             COUNT(*)::INTEGER                       AS used_count
+      FROM leave_request
+      WHERE auto_approved
+        AND status = 'APPROVED'
+      GROUP BY 1, 2, 3) q;
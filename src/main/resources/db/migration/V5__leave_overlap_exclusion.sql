@@ -0,0 +1,139 @@
+-- ===============================================================
+-- Database-enforced non-overlapping leaves per employee
+-- (only PENDING and APPROVED leaves block a date range)
+-- ===============================================================
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE leave_request
+    ADD COLUMN leave_range DATERANGE
+        GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+-- The application check could be raced, so existing rows may overlap and the constraint
+-- below would fail. Overlaps are resolved greedily in rank order (APPROVED before PENDING,
+-- then the earlier request): a leave is kept unless it overlaps a leave already kept, so a
+-- leave that only conflicted with a cancelled one survives. Leaves that overlap nothing are
+-- always kept and are left out of the pass.
+CREATE TEMPORARY TABLE overlapping_leave (
+    id              BIGINT        NOT NULL,
+    employee_id     BIGINT        NOT NULL,
+    start_date      DATE          NOT NULL,
+    end_date        DATE          NOT NULL,
+    working_days    NUMERIC(4, 1) NOT NULL,
+    auto_approved   BOOLEAN       NOT NULL,
+    previous_status VARCHAR(20)   NOT NULL,
+    kept_leave_id   BIGINT        NOT NULL
+) ON COMMIT DROP;
+
+DO $$
+DECLARE
+    candidate RECORD;
+    kept_id   BIGINT;
+    cancelled TEXT;
+BEGIN
+    CREATE TEMPORARY TABLE kept_leave (
+        id          BIGINT    NOT NULL,
+        employee_id BIGINT    NOT NULL,
+        leave_range DATERANGE NOT NULL
+    ) ON COMMIT DROP;
+
+    FOR candidate IN
+        SELECT lr.*
+        FROM leave_request lr
+        WHERE lr.status IN ('PENDING', 'APPROVED')
+          AND EXISTS (SELECT 1
+                      FROM leave_request other
+                      WHERE other.employee_id = lr.employee_id
+                        AND other.id <> lr.id
+                        AND other.status IN ('PENDING', 'APPROVED')
+                        AND other.leave_range && lr.leave_range)
+        ORDER BY lr.employee_id,
+                 CASE lr.status WHEN 'APPROVED' THEN 0 ELSE 1 END,
+                 COALESCE(lr.created_at, '-infinity'),
+                 lr.id
+    LOOP
+        SELECT k.id INTO kept_id
+        FROM kept_leave k
+        WHERE k.employee_id = candidate.employee_id
+          AND k.leave_range && candidate.leave_range
+        LIMIT 1;
+
+        IF kept_id IS NULL THEN
+            INSERT INTO kept_leave VALUES (candidate.id, candidate.employee_id, candidate.leave_range);
+        ELSE
+            INSERT INTO overlapping_leave
+            VALUES (candidate.id, candidate.employee_id, candidate.start_date, candidate.end_date,
+                    candidate.working_days, candidate.auto_approved, candidate.status, kept_id);
+        END IF;
+    END LOOP;
+
+    SELECT string_agg(id || ' (' || previous_status || ', overlaps ' || kept_leave_id || ')', ', ' ORDER BY id)
+    INTO cancelled
+    FROM overlapping_leave;
+    IF cancelled IS NOT NULL THEN
+        RAISE WARNING 'Cancelling overlapping leave requests before adding ex_leave_request_no_overlap: %',
+            cancelled;
+    END IF;
+END $$;
+
+-- Permanent record of what this migration cancelled and why
+CREATE TABLE leave_overlap_resolution (
+    leave_request_id BIGINT       NOT NULL REFERENCES leave_request (id),
+    previous_status  VARCHAR(20)  NOT NULL,
+    kept_leave_id    BIGINT       NOT NULL REFERENCES leave_request (id),
+    resolved_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT leave_overlap_resolution_pkey PRIMARY KEY (leave_request_id)
+);
+
+INSERT INTO leave_overlap_resolution (leave_request_id, previous_status, kept_leave_id, resolved_at)
+SELECT id, previous_status, kept_leave_id, now()
+FROM overlapping_leave;
+
+UPDATE leave_request lr
+SET status = 'CANCELLED',
+    updated_at = now()
+FROM overlapping_leave o
+WHERE lr.id = o.id;
+
+-- Tell each employee which of their leaves was cancelled
+INSERT INTO notifications (id, user_id, message, is_read, created_at)
+SELECT nextval('notifications_seq'),
+       e.user_id,
+       format('Your %s leave from %s to %s was cancelled because it overlapped leave request #%s. '
+                  || 'Please apply again for any days you still need.',
+              lower(o.previous_status), o.start_date, o.end_date, o.kept_leave_id),
+       FALSE,
+       now()
+FROM overlapping_leave o
+JOIN employee e ON e.id = o.employee_id;
+
+-- Give the days back, as a cancel does (balances are charged on apply, by start year)
+UPDATE employee_leave_balance b
+SET used_leaves = b.used_leaves - r.days,
+    remaining_leaves = b.remaining_leaves + r.days,
+    updated_at = now()
+FROM (SELECT employee_id, EXTRACT(YEAR FROM start_date)::INTEGER AS year, SUM(working_days) AS days
+      FROM overlapping_leave
+      GROUP BY employee_id, EXTRACT(YEAR FROM start_date)) r
+WHERE b.employee_id = r.employee_id
+  AND b.year = r.year;
+
+-- And the auto-approvals they used
+UPDATE auto_approval_quota q
+SET used_count = GREATEST(q.used_count - r.released, 0),
+    updated_at = now()
+FROM (SELECT employee_id,
+             EXTRACT(YEAR FROM start_date)::INTEGER AS year,
+             EXTRACT(MONTH FROM start_date)::INTEGER AS month,
+             COUNT(*) AS released
+      FROM overlapping_leave
+      WHERE auto_approved
+      GROUP BY employee_id, EXTRACT(YEAR FROM start_date), EXTRACT(MONTH FROM start_date)) r
+WHERE q.employee_id = r.employee_id
+  AND q.year = r.year
+  AND q.month = r.month;
+
+ALTER TABLE leave_request
+    ADD CONSTRAINT ex_leave_request_no_overlap
+        EXCLUDE USING gist (employee_id WITH =, leave_range WITH &&)
+        WHERE (status IN ('PENDING', 'APPROVED'));
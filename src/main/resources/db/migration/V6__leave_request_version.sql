@@ -0,0 +1,5 @@
+-- ===============================================================
+-- Optimistic locking column for leave_request
+-- ===============================================================
+
+ALTER TABLE leave_request ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
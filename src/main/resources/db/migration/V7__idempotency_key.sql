@@ -0,0 +1,21 @@
+-- ===============================================================
+-- Stored responses for Idempotency-Key replays on leave endpoints
+-- ===============================================================
+
+CREATE SEQUENCE idempotency_key_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE idempotency_key (
+    id              BIGINT       NOT NULL,
+    username        VARCHAR(50)  NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    operation       VARCHAR(50)  NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    response_body   TEXT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT idempotency_key_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_key_username_key UNIQUE (username, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_expires ON idempotency_key (expires_at);
@@ -0,0 +1,28 @@
+-- ===============================================================
+-- Resumable year-end rollover job
+-- ===============================================================
+
+-- Set once a balance has been rolled into the next year; the job only picks up NULL rows
+ALTER TABLE employee_leave_balance ADD COLUMN rolled_over_at TIMESTAMP(6);
+
+CREATE INDEX idx_employee_leave_balance_rollover_pending
+    ON employee_leave_balance (year, id)
+    WHERE rolled_over_at IS NULL;
+
+CREATE SEQUENCE year_end_rollover_job_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE year_end_rollover_job (
+    id                 BIGINT      NOT NULL,
+    year               INTEGER     NOT NULL,
+    status             VARCHAR(20) NOT NULL,
+    total_balances     BIGINT      NOT NULL DEFAULT 0,
+    processed_balances BIGINT      NOT NULL DEFAULT 0,
+    defaulted_balances BIGINT      NOT NULL DEFAULT 0,
+    last_error         TEXT,
+    started_by         VARCHAR(50),
+    started_at         TIMESTAMP(6),
+    finished_at        TIMESTAMP(6),
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT year_end_rollover_job_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_year_end_rollover_job_year UNIQUE (year)
+);
@@ -0,0 +1,16 @@
+-- ===============================================================
+-- One leave balance per employee and year
+-- ===============================================================
+
+-- Concurrent first reads could each insert a balance; keep the oldest row
+DELETE FROM employee_leave_balance b
+USING employee_leave_balance older
+WHERE older.employee_id = b.employee_id
+  AND older.year = b.year
+  AND older.id < b.id;
+
+-- The unique constraint's index replaces the plain lookup index
+DROP INDEX IF EXISTS idx_employee_leave_balance_employee_year;
+
+ALTER TABLE employee_leave_balance
+    ADD CONSTRAINT uk_employee_leave_balance_employee_year UNIQUE (employee_id, year);
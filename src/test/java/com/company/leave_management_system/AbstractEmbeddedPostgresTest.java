@@ -0,0 +1,47 @@
+package com.company.leave_management_system;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base class for tests that need the full application against a real PostgreSQL.
+ * One embedded server is started per JVM; Flyway builds the schema on first context start.
+ */
+public abstract class AbstractEmbeddedPostgresTest {
+
+	protected static final EmbeddedPostgres POSTGRES = startPostgres();
+
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("jwt.secret", () -> "0123456789abcdef0123456789abcdef0123456789abcdef");
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", () -> "2525");
+		registry.add("spring.mail.username", () -> "noreply@example.com");
+		registry.add("spring.mail.password", () -> "");
+		registry.add("app.email.from", () -> "noreply@example.com");
+		registry.add("app.email.mock", () -> "true");
+	}
+
+	protected static EmbeddedPostgres startPostgres() {
+		try {
+			EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					postgres.close();
+				} catch (IOException ignored) {
+					// JVM is exiting
+				}
+			}));
+			return postgres;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.company.leave_management_system.config;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two PostgreSQL servers, the second standing in for the read
+ * replica, and checks which server each transaction lands on by asking it for its port.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReplicaRoutingTest extends AbstractEmbeddedPostgresTest {
+
+	private static final EmbeddedPostgres REPLICA = startReplica();
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		registry.add("app.datasource.replica.enabled", () -> "true");
+		registry.add("app.datasource.replica.jdbc-url", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+		registry.add("app.datasource.replica.username", () -> "postgres");
+		registry.add("app.datasource.replica.password", () -> "");
+		registry.add("app.datasource.replica.maximum-pool-size", () -> "2");
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ServerProbe serverProbe;
+
+	@Test
+	@WithMockUser
+	void readOnlyTransactionInRequestUsesReplica() throws Exception {
+		mockMvc.perform(get("/test/replica-routing/read"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.read").value(REPLICA.getPort()));
+	}
+
+	@Test
+	@WithMockUser
+	void readWriteTransactionUsesPrimary() throws Exception {
+		mockMvc.perform(get("/test/replica-routing/write"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.write").value(POSTGRES.getPort()));
+	}
+
+	@Test
+	@WithMockUser
+	void readAfterWriteInSameRequestStaysOnPrimary() throws Exception {
+		mockMvc.perform(get("/test/replica-routing/write-then-read"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.write").value(POSTGRES.getPort()))
+				.andExpect(jsonPath("$.read").value(POSTGRES.getPort()));
+
+		// The pin ends with the request
+		mockMvc.perform(get("/test/replica-routing/read"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.read").value(REPLICA.getPort()));
+	}
+
+	@Test
+	void workOutsideRequestRoutesByReadOnlyFlag() {
+		assertThat(serverProbe.readPort()).isEqualTo(REPLICA.getPort());
+		assertThat(serverProbe.writePort()).isEqualTo(POSTGRES.getPort());
+		assertThat(serverProbe.readPort()).isEqualTo(REPLICA.getPort());
+	}
+
+	/**
+	 * The replica gets the same schema, as replication would give it
+	 */
+	private static EmbeddedPostgres startReplica() {
+		EmbeddedPostgres replica = startPostgres();
+		Flyway.configure()
+				.dataSource(replica.getJdbcUrl("postgres", "postgres"), "postgres", "")
+				.load()
+				.migrate();
+		return replica;
+	}
+
+	@TestConfiguration
+	static class ProbeConfig {
+
+		@Bean
+		ServerProbe serverProbe(JdbcTemplate jdbcTemplate) {
+			return new ServerProbe(jdbcTemplate);
+		}
+
+		@Bean
+		ProbeController probeController(ServerProbe serverProbe) {
+			return new ProbeController(serverProbe);
+		}
+	}
+
+	static class ServerProbe {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		ServerProbe(JdbcTemplate jdbcTemplate) {
+			this.jdbcTemplate = jdbcTemplate;
+		}
+
+		@Transactional(readOnly = true)
+		public int readPort() {
+			return port();
+		}
+
+		@Transactional
+		public int writePort() {
+			return port();
+		}
+
+		private int port() {
+			return jdbcTemplate.queryForObject("SELECT current_setting('port')::INTEGER", Integer.class);
+		}
+	}
+
+	@RestController
+	@RequestMapping("/test/replica-routing")
+	static class ProbeController {
+
+		private final ServerProbe serverProbe;
+
+		ProbeController(ServerProbe serverProbe) {
+			this.serverProbe = serverProbe;
+		}
+
+		@GetMapping("/read")
+		Map<String, Integer> read() {
+			return Map.of("read", serverProbe.readPort());
+		}
+
+		@GetMapping("/write")
+		Map<String, Integer> write() {
+			return Map.of("write", serverProbe.writePort());
+		}
+
+		@GetMapping("/write-then-read")
+		Map<String, Integer> writeThenRead() {
+			int write = serverProbe.writePort();
+			return Map.of("write", write, "read", serverProbe.readPort());
+		}
+	}
+}
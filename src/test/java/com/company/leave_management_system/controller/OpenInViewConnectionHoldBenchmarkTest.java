@@ -0,0 +1,170 @@
+package com.company.leave_management_system.controller;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.entity.User;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Before/after connection hold time for read requests.
+ * "Before" wraps the requests in OpenEntityManagerInViewFilter, i.e. open-in-view on, where the
+ * request's EntityManager keeps its connection until the response is written; "after" is the
+ * configured open-in-view=false. Hold time is what Hikari reports from borrow to return.
+ * Excluded from the default run: mvn test -Pbenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+class OpenInViewConnectionHoldBenchmarkTest extends AbstractEmbeddedPostgresTest {
+
+	private static final String USERNAME = "osiv-benchmark";
+	private static final int NOTIFICATIONS = 5_000;
+	private static final int WARMUP = 20;
+	private static final int REQUESTS = 200;
+	private static final ConnectionUsage USAGE = new ConnectionUsage();
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+
+	@BeforeEach
+	void createNotifications() {
+		User user = new User();
+		user.setUsername(USERNAME);
+		user.setPassword("x");
+		user.setRole(Role.EMPLOYEE);
+		user.setIsApproved(true);
+		userId = userRepository.save(user).getId();
+
+		jdbcTemplate.update("INSERT INTO notifications (id, user_id, message, is_read, created_at) " +
+				"SELECT nextval('notifications_seq'), ?, 'Benchmark notification ' || i, false, now() " +
+				"FROM generate_series(1, ?) i", userId, NOTIFICATIONS);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+		userRepository.deleteById(userId);
+	}
+
+	@Test
+	void openInViewOffReleasesConnectionsBeforeSerialization() throws Exception {
+		OpenEntityManagerInViewFilter openInView = new OpenEntityManagerInViewFilter() {
+			@Override
+			protected EntityManagerFactory lookupEntityManagerFactory() {
+				return entityManagerFactory;
+			}
+		};
+
+		Run on = readNotifications(mockMvc().addFilters(openInView).build());
+		Run off = readNotifications(mockMvc().build());
+
+		log.info("{} reads of {} notifications: open-in-view on held connections {} ms over {} borrows, " +
+						"off {} ms over {} borrows (wall time {} ms vs {} ms)",
+				REQUESTS, NOTIFICATIONS, on.heldMillis, on.borrows, off.heldMillis, off.borrows,
+				on.wallMillis, off.wallMillis);
+
+		// With it on the single connection stays out through JSON serialization of the whole list
+		assertThat(off.heldMillis).isLessThan(on.heldMillis);
+	}
+
+	private DefaultMockMvcBuilder mockMvc() {
+		return MockMvcBuilders.webAppContextSetup(context).apply(springSecurity());
+	}
+
+	private Run readNotifications(MockMvc mockMvc) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			read(mockMvc);
+		}
+
+		USAGE.reset();
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			read(mockMvc);
+		}
+		long wallMillis = (System.nanoTime() - start) / 1_000_000;
+		return new Run(USAGE.millis.get(), USAGE.borrows.get(), wallMillis);
+	}
+
+	private static void read(MockMvc mockMvc) throws Exception {
+		mockMvc.perform(get("/api/notifications").with(user(USERNAME).roles(Role.EMPLOYEE.name())))
+				.andExpect(status().isOk());
+	}
+
+	private record Run(long heldMillis, long borrows, long wallMillis) {
+	}
+
+	private static class ConnectionUsage {
+
+		private final AtomicLong millis = new AtomicLong();
+		private final AtomicLong borrows = new AtomicLong();
+
+		void reset() {
+			millis.set(0);
+			borrows.set(0);
+		}
+	}
+
+	@TestConfiguration
+	static class ConnectionUsageConfig {
+
+		/**
+		 * Installs the tracker before the pool starts; Hikari refuses it afterwards
+		 */
+		@Bean
+		static BeanPostProcessor connectionUsageTracker() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if (bean instanceof HikariDataSource dataSource) {
+						dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+							@Override
+							public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+								USAGE.millis.addAndGet(elapsedBorrowedMillis);
+								USAGE.borrows.incrementAndGet();
+							}
+						});
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package com.company.leave_management_system.controller;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.dto.DepartmentDTO;
+import com.company.leave_management_system.dto.FestivalHolidayDTO;
+import com.company.leave_management_system.dto.LeaveRequestDTO;
+import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.entity.User;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.repository.UserRepository;
+import com.company.leave_management_system.service.AuthService;
+import com.company.leave_management_system.service.DepartmentService;
+import com.company.leave_management_system.service.EmployeeHierarchyService;
+import com.company.leave_management_system.service.FestivalHolidayService;
+import com.company.leave_management_system.service.LeaveRequestService;
+import com.company.leave_management_system.service.NotificationService;
+import com.company.leave_management_system.service.YearEndRolloverService;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * With open-in-view off, entities are detached once the service transaction ends, so a DTO
+ * mapping or serializer that touches a lazy association fails only at request time. Calls every
+ * GET endpoint of the application's controllers against seeded data and fails on any
+ * LazyInitializationException or server error.
+ */
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+class ReadEndpointLazyLoadingTest extends AbstractEmbeddedPostgresTest {
+
+	private static final String ADMIN = "admin";
+	private static final String EMPLOYEE = "osiv-employee";
+	private static final String MANAGER = "osiv-manager";
+	private static final int YEAR = LocalDate.now().getYear();
+	/** No balances exist for it, so its rollover finishes at once */
+	private static final int ROLLOVER_YEAR = 2001;
+	private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RequestMappingHandlerMapping handlerMapping;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private FestivalHolidayService festivalHolidayService;
+
+	@Autowired
+	private LeaveRequestService leaveRequestService;
+
+	@Autowired
+	private EmployeeHierarchyService employeeHierarchyService;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private YearEndRolloverService yearEndRolloverService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Map<String, String> pathValues = new HashMap<>();
+
+	@BeforeEach
+	void seed() {
+		if (userRepository.existsByUsername(EMPLOYEE)) {
+			return;
+		}
+
+		DepartmentDTO department = new DepartmentDTO();
+		department.setName("OSIV Engineering");
+		departmentService.createDepartment(department);
+
+		register(MANAGER, Role.MANAGER, "OSIV Engineering");
+		register(EMPLOYEE, Role.EMPLOYEE, "OSIV Engineering");
+		employeeHierarchyService.assignManager(employeeId(EMPLOYEE), employeeId(MANAGER));
+
+		FestivalHolidayDTO holiday = new FestivalHolidayDTO();
+		holiday.setName("OSIV Day");
+		holiday.setDate(LocalDate.of(YEAR, 12, 31));
+		holiday.setYear(YEAR);
+		festivalHolidayService.createHoliday(holiday);
+
+		LeaveRequestDTO leave = new LeaveRequestDTO();
+		leave.setStartDate(LocalDate.now().plusDays(30));
+		leave.setEndDate(LocalDate.now().plusDays(31));
+		leave.setReason("Lazy loading test");
+		as(EMPLOYEE, Role.EMPLOYEE, () -> leaveRequestService.applyLeave(leave));
+
+		User admin = userRepository.findByRole(Role.ADMIN, Pageable.unpaged()).getContent().get(0);
+		notificationService.createNotification(admin, "Lazy loading test");
+
+		yearEndRolloverService.startRollover(ROLLOVER_YEAR, ADMIN);
+	}
+
+	@Test
+	void readEndpointsDoNotHitDetachedLazyAssociations() throws Exception {
+		Long employeeId = employeeId(EMPLOYEE);
+		Long leaveId = jdbcTemplate.queryForObject(
+				"SELECT MAX(id) FROM leave_request WHERE employee_id = ?", Long.class, employeeId);
+		pathValues.put("employeeId", employeeId.toString());
+		pathValues.put("year", Integer.toString(YEAR));
+
+		List<String> called = new ArrayList<>();
+		for (Map.Entry<RequestMappingInfo, HandlerMethod> mapping : handlerMapping.getHandlerMethods().entrySet()) {
+			RequestMappingInfo info = mapping.getKey();
+			HandlerMethod handler = mapping.getValue();
+			if (!handler.getBeanType().getPackageName().equals(getClass().getPackageName())
+					|| !info.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+				continue;
+			}
+
+			for (String pattern : info.getPatternValues()) {
+				// Only one {id} is ambiguous: the leave controller's, the rest take an employee id
+				pathValues.put("id", (pattern.startsWith("/api/leaves/") ? leaveId : employeeId).toString());
+				if (pattern.startsWith("/api/leave-balance/year-end/rollover/")) {
+					pathValues.put("year", Integer.toString(ROLLOVER_YEAR));
+				}
+				String uri = expand(pattern, handler);
+				pathValues.put("year", Integer.toString(YEAR));
+
+				call(uri);
+				called.add(uri);
+			}
+		}
+
+		assertThat(called).as("GET endpoints called").hasSizeGreaterThan(15);
+	}
+
+	private void call(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri).with(user(ADMIN).roles(Role.ADMIN.name()))).andReturn();
+		if (result.getRequest().isAsyncStarted()) {
+			result = mockMvc.perform(asyncDispatch(result)).andReturn();
+		}
+
+		for (Throwable cause = result.getResolvedException(); cause != null; cause = cause.getCause()) {
+			if (cause instanceof LazyInitializationException) {
+				fail("GET " + uri + " touched a lazy association outside a transaction", cause);
+			}
+		}
+		assertThat(result.getResponse().getStatus())
+				.as("GET %s (%s)", uri, result.getResponse().getContentAsString())
+				.isLessThan(500);
+	}
+
+	/**
+	 * Fill path variables and required request parameters with the seeded values
+	 */
+	private String expand(String pattern, HandlerMethod handler) {
+		String uri = pattern;
+		List<String> query = new ArrayList<>();
+		for (MethodParameter parameter : handler.getMethodParameters()) {
+			parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+			PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+			if (pathVariable != null) {
+				String name = name(pathVariable.value(), parameter);
+				uri = uri.replace("{" + name + "}", sample(name, pattern));
+			}
+
+			RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+			if (requestParam != null && requestParam.required()
+					&& requestParam.defaultValue().equals(ValueConstants.DEFAULT_NONE)) {
+				String name = name(requestParam.value(), parameter);
+				query.add(name + "=" + sample(name, pattern));
+			}
+		}
+		return query.isEmpty() ? uri : uri + "?" + String.join("&", query);
+	}
+
+	private String sample(String name, String pattern) {
+		if (name.equals("at")) {
+			return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+		}
+		String value = pathValues.get(name);
+		if (value == null) {
+			fail("No sample value for '" + name + "' of GET " + pattern + "; add one to this test");
+		}
+		return value;
+	}
+
+	private static String name(String declared, MethodParameter parameter) {
+		return declared.isEmpty() ? parameter.getParameterName() : declared;
+	}
+
+	private void register(String username, Role role, String department) {
+		RegisterRequestDTO request = new RegisterRequestDTO();
+		request.setUsername(username);
+		request.setPassword("secret123");
+		request.setRole(role);
+		request.setName("OSIV " + username);
+		request.setEmail(username + "@example.com");
+		request.setDepartment(department);
+		authService.register(request);
+	}
+
+	private Long employeeId(String username) {
+		return jdbcTemplate.queryForObject(
+				"SELECT e.id FROM employee e JOIN users u ON u.id = e.user_id WHERE u.username = ?",
+				Long.class, username);
+	}
+
+	private static <T> T as(String username, Role role, Supplier<T> action) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+		try {
+			return action.get();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.entity.Notification;
+import com.company.leave_management_system.entity.User;
+import com.company.leave_management_system.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after timing for 100k notification inserts.
+ * "Before" forces a JDBC batch size of 1, i.e. one round trip per row as IDENTITY ids did;
+ * "after" uses the configured batch size on top of the pooled sequences.
+ * Excluded from the default run: mvn test -Pbenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class NotificationInsertBenchmarkTest extends AbstractEmbeddedPostgresTest {
+
+	private static final int ROWS = 100_000;
+	private static final int FLUSH_EVERY = 1_000;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+
+	@BeforeEach
+	void createRecipient() {
+		User user = new User();
+		user.setUsername("benchmark-recipient");
+		user.setPassword("x");
+		user.setRole(Role.EMPLOYEE);
+		user.setIsApproved(true);
+		userId = userRepository.save(user).getId();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+		userRepository.deleteById(userId);
+	}
+
+	@Test
+	void pooledSequencesLetNotificationInsertsBatch() {
+		Run rowByRow = insertNotifications(1);
+		Run batched = insertNotifications(null);
+
+		log.info("{} notification inserts: row-by-row {} ms ({} statements), batched {} ms ({} statements)",
+				ROWS, rowByRow.millis, rowByRow.statements, batched.millis, batched.statements);
+
+		assertThat(rowByRow.inserts).isEqualTo(ROWS);
+		assertThat(batched.inserts).isEqualTo(ROWS);
+		// One prepared INSERT per row without batching; one per batch plus one nextval per 50 ids with it
+		assertThat(rowByRow.statements).isGreaterThanOrEqualTo(ROWS);
+		assertThat(batched.statements).isLessThan(ROWS / 10);
+	}
+
+	/**
+	 * Inserts ROWS notifications in one transaction; a null batch size keeps the configured one
+	 */
+	private Run insertNotifications(Integer jdbcBatchSize) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		long start = System.nanoTime();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Session session = entityManager.unwrap(Session.class);
+			if (jdbcBatchSize != null) {
+				session.setJdbcBatchSize(jdbcBatchSize);
+			}
+			for (int i = 0; i < ROWS; i++) {
+				session.persist(Notification.builder()
+						.user(session.getReference(User.class, userId))
+						.message("Benchmark notification " + i)
+						.isRead(false)
+						.build());
+				if ((i + 1) % FLUSH_EVERY == 0) {
+					session.flush();
+					session.clear();
+				}
+			}
+		});
+
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		Run run = new Run(millis, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+		jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+		return run;
+	}
+
+	private record Run(long millis, long statements, long inserts) {
+	}
+}
@@ -0,0 +1,336 @@
+package com.company.leave_management_system.repository;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method declared on the application's repositories against an empty schema,
+ * captures the SQL with its bound values and EXPLAINs it with sequential scans disabled.
+ * Any plan that still contains a Seq Scan has no usable index. Queries with optional
+ * filters run a second time with those parameters null.
+ */
+@SpringBootTest
+class RepositoryQueryPlanTest extends AbstractEmbeddedPostgresTest {
+
+	private static final String REPOSITORY_PACKAGE = RepositoryQueryPlanTest.class.getPackageName();
+
+	/**
+	 * Tables bounded to a handful of rows, where a sequential scan is the right plan
+	 */
+	private static final Set<String> SMALL_TABLES = Set.of(
+			"festival_holiday",      // the holidays of each year
+			"year_end_rollover_job"  // one row per year
+	);
+
+	/**
+	 * Query parameters used as optional filters, e.g. "CAST(:prefix AS text) IS NULL OR ..."
+	 */
+	private static final Pattern OPTIONAL_PARAMETER =
+			Pattern.compile("(?:CAST\\(:(\\w+) AS \\w+\\)|:(\\w+)) IS NULL", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+	private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+	/**
+	 * Every sample id argument; kept clear of ids the sequences hand out
+	 */
+	private static final int SAMPLE_ID = 900_000;
+
+	/**
+	 * Rows with the sample id so foreign keys resolve; written in each rolled-back transaction
+	 */
+	private static final List<String> FIXTURE = List.of(
+			"INSERT INTO users (id, username, password, role, enabled, is_approved) " +
+					"VALUES (" + SAMPLE_ID + ", 'plan-user', 'x', 'EMPLOYEE', true, true)",
+			"INSERT INTO department (id, name) VALUES (" + SAMPLE_ID + ", 'plan-department')",
+			"INSERT INTO employee (id, user_id, name, email, department_id) " +
+					"VALUES (" + SAMPLE_ID + ", " + SAMPLE_ID + ", 'Plan Employee', 'plan@example.com', " + SAMPLE_ID + ")");
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void everyRepositoryQueryIsServedByAnIndex() throws Exception {
+		Map<String, List<String>> statementsByMethod = captureRepositoryStatements();
+		assertThat(statementsByMethod).isNotEmpty();
+
+		List<String> seqScans = new ArrayList<>();
+		try (Connection connection = POSTGRES.getPostgresDatabase().getConnection();
+			 Statement statement = connection.createStatement()) {
+			statement.execute("SET enable_seqscan = off");
+			for (Map.Entry<String, List<String>> entry : statementsByMethod.entrySet()) {
+				for (String sql : entry.getValue()) {
+					String plan = explain(statement, sql);
+					boolean seqScanOnLargeTable = SEQ_SCAN.matcher(plan).results()
+							.anyMatch(scan -> !SMALL_TABLES.contains(scan.group(1)));
+					if (seqScanOnLargeTable) {
+						seqScans.add(entry.getKey() + "\n" + sql + "\n" + plan);
+					}
+				}
+			}
+		}
+
+		assertThat(seqScans).as("queries planned with a sequential scan").isEmpty();
+	}
+
+	private Map<String, List<String>> captureRepositoryStatements() {
+		Repositories repositories = new Repositories(applicationContext);
+		Map<String, List<String>> statementsByMethod = new LinkedHashMap<>();
+
+		for (Class<?> domainType : repositories) {
+			RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+			Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+			for (Method method : queryMethods(information.getRepositoryInterface())) {
+				String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+				statementsByMethod.put(name, run(repository, method, domainType, Set.of()));
+				Set<String> optional = optionalParameters(method);
+				if (!optional.isEmpty()) {
+					statementsByMethod.put(name + " without " + optional,
+							run(repository, method, domainType, optional));
+				}
+			}
+		}
+		return statementsByMethod;
+	}
+
+	/**
+	 * Methods declared by the repository interface and the application interfaces it extends
+	 */
+	private List<Method> queryMethods(Class<?> repositoryInterface) {
+		List<Method> methods = new ArrayList<>();
+		collectQueryMethods(repositoryInterface, methods);
+		methods.sort(Comparator.comparing(Method::toGenericString));
+		return methods;
+	}
+
+	private void collectQueryMethods(Class<?> type, List<Method> methods) {
+		if (!type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+			return;
+		}
+		for (Method method : type.getDeclaredMethods()) {
+			if (!method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers())) {
+				methods.add(method);
+			}
+		}
+		for (Class<?> parent : type.getInterfaces()) {
+			collectQueryMethods(parent, methods);
+		}
+	}
+
+	private static Set<String> optionalParameters(Method method) {
+		Query query = method.getAnnotation(Query.class);
+		if (query == null) {
+			return Set.of();
+		}
+		return OPTIONAL_PARAMETER.matcher(query.value()).results()
+				.map(match -> match.group(1) != null ? match.group(1) : match.group(2))
+				.collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	/**
+	 * Invokes the method in a rolled-back transaction, passing null for the named parameters,
+	 * and returns the statements it sent
+	 */
+	private List<String> run(Object repository, Method method, Class<?> domainType, Set<String> nullParameters) {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+		List<String> statements = new ArrayList<>();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				status.setRollbackOnly();
+				FIXTURE.forEach(sql -> entityManager.createNativeQuery(sql).executeUpdate());
+				CAPTURED.set(statements);
+				Object[] args = new Object[method.getParameterCount()];
+				Parameter[] parameters = method.getParameters();
+				for (int i = 0; i < parameters.length; i++) {
+					Param param = parameters[i].getAnnotation(Param.class);
+					args[i] = param != null && nullParameters.contains(param.value())
+							? null
+							: sampleValue(ResolvableType.forMethodParameter(method, i), domainType);
+				}
+				try {
+					method.invoke(repository, args);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					ReflectionUtils.rethrowRuntimeException(e.getCause() != null ? e.getCause() : e);
+				}
+			});
+		} finally {
+			CAPTURED.remove();
+		}
+		return statements;
+	}
+
+	private Object sampleValue(ResolvableType type, Class<?> domainType) {
+		Class<?> raw = type.toClass();
+		if (raw == Long.class || raw == long.class) {
+			return (long) SAMPLE_ID;
+		}
+		if (raw == Integer.class || raw == int.class) {
+			return SAMPLE_ID;
+		}
+		if (raw == Boolean.class || raw == boolean.class) {
+			return true;
+		}
+		if (raw == String.class) {
+			return "a%";
+		}
+		if (raw == BigDecimal.class) {
+			return BigDecimal.ONE;
+		}
+		if (raw == LocalDate.class) {
+			return LocalDate.of(2026, 1, 1);
+		}
+		if (raw == LocalDateTime.class) {
+			return LocalDateTime.of(2026, 1, 1, 0, 0);
+		}
+		if (raw.isEnum()) {
+			return raw.getEnumConstants()[0];
+		}
+		if (raw == Pageable.class) {
+			// Paged listings are sorted newest first by the services
+			boolean hasCreatedAt = ReflectionUtils.findField(domainType, "createdAt") != null;
+			return hasCreatedAt
+					? PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"))
+					: PageRequest.of(0, 20);
+		}
+		if (Collection.class.isAssignableFrom(raw)) {
+			Object element = sampleValue(type.asCollection().getGeneric(0), domainType);
+			return Set.class.isAssignableFrom(raw) ? Set.of(element) : List.of(element);
+		}
+		if (entityManagerFactory.getMetamodel().getEntities().stream().anyMatch(e -> e.getJavaType() == raw)) {
+			return entityManager.getReference(raw, (long) SAMPLE_ID);
+		}
+		throw new IllegalArgumentException("No sample value for parameter type " + type);
+	}
+
+	private static String explain(Statement statement, String sql) throws Exception {
+		StringBuilder plan = new StringBuilder();
+		try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+			while (rs.next()) {
+				plan.append(rs.getString(1)).append('\n');
+			}
+		}
+		return plan.toString();
+	}
+
+	/**
+	 * Records, on the test thread only, each prepared statement with its parameters inlined
+	 */
+	@TestConfiguration
+	static class StatementCaptureConfig {
+
+		@Bean
+		static BeanPostProcessor capturingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+					return bean instanceof DataSource dataSource ? capturing(dataSource) : bean;
+				}
+			};
+		}
+
+		private static DataSource capturing(DataSource target) {
+			return proxy(DataSource.class, target, (method, result) ->
+					result instanceof Connection connection ? proxy(Connection.class, connection, (m, r) ->
+							r instanceof PreparedStatement ps ? capturingStatement(ps) : r) : result);
+		}
+
+		private static PreparedStatement capturingStatement(PreparedStatement target) {
+			return (PreparedStatement) Proxy.newProxyInstance(
+					RepositoryQueryPlanTest.class.getClassLoader(),
+					new Class<?>[]{PreparedStatement.class},
+					(proxy, method, args) -> {
+						List<String> captured = CAPTURED.get();
+						if (captured != null && method.getName().startsWith("execute")) {
+							String sql = target.unwrap(PreparedStatement.class).toString();
+							if (isExplainable(sql)) {
+								captured.add(sql);
+							}
+						}
+						return invoke(target, method, args);
+					});
+		}
+
+		private static boolean isExplainable(String sql) {
+			String head = sql.stripLeading().toLowerCase();
+			return (head.startsWith("select") || head.startsWith("insert") || head.startsWith("update")
+					|| head.startsWith("delete") || head.startsWith("with"))
+					&& !head.startsWith("select nextval");
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+			return (T) Proxy.newProxyInstance(
+					RepositoryQueryPlanTest.class.getClassLoader(),
+					new Class<?>[]{type},
+					(proxy, method, args) -> decorator.decorate(method, invoke(target, method, args)));
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private interface ResultDecorator {
+			Object decorate(Method method, Object result);
+		}
+	}
+}
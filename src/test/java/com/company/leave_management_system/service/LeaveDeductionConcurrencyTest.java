@@ -0,0 +1,109 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.exception.InvalidLeaveRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races deductions against one balance and checks that together they never take
+ * more days than the entitlement holds.
+ */
+@SpringBootTest
+class LeaveDeductionConcurrencyTest extends AbstractEmbeddedPostgresTest {
+
+	private static final int ROUNDS = 10;
+	private static final int CALLERS = 12;
+	private static final BigDecimal DAYS = BigDecimal.valueOf(5);
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private LeaveBalanceService leaveBalanceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${app.leave.annual-entitlement:24}")
+	private int annualEntitlement;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+	@AfterEach
+	void shutDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentDeductionsNeverOverdraw() throws Exception {
+		int year = LocalDate.now().getYear();
+		int expectedWins = BigDecimal.valueOf(annualEntitlement).divide(DAYS, 0, RoundingMode.DOWN).intValue();
+
+		for (int round = 0; round < ROUNDS; round++) {
+			Long employeeId = register("deduction-" + round);
+			// Create the balance up front so every caller races on the row lock
+			leaveBalanceService.getOrCreateBalance(employeeId, year);
+
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					leaveBalanceService.deductLeave(employeeId, DAYS, year);
+					return null;
+				}));
+			}
+			start.countDown();
+
+			int wins = 0;
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+					wins++;
+				} catch (ExecutionException e) {
+					assertThat(e.getCause()).isInstanceOf(InvalidLeaveRequestException.class);
+				}
+			}
+
+			assertThat(wins).as("round %d deductions", round).isEqualTo(expectedWins);
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT COALESCE(SUM(used_delta), 0) FROM leave_balance_ledger WHERE employee_id = ? AND year = ?",
+					BigDecimal.class, employeeId, year))
+					.as("round %d ledger", round)
+					.isEqualByComparingTo(DAYS.multiply(BigDecimal.valueOf(expectedWins)));
+		}
+	}
+
+	private Long register(String username) {
+		RegisterRequestDTO request = new RegisterRequestDTO();
+		request.setUsername(username);
+		request.setPassword("secret123");
+		request.setRole(Role.EMPLOYEE);
+		request.setName("Deduction " + username);
+		request.setEmail(username + "@example.com");
+		authService.register(request);
+		return jdbcTemplate.queryForObject(
+				"SELECT e.id FROM employee e JOIN users u ON u.id = e.user_id WHERE u.username = ?",
+				Long.class, username);
+	}
+}
@@ -0,0 +1,177 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.entity.Employee;
+import com.company.leave_management_system.entity.LeaveRequest;
+import com.company.leave_management_system.enums.LeaveStatus;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.repository.EmployeeRepository;
+import com.company.leave_management_system.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the cache with random applies, approvals, rejections, cancellations and evictions
+ * written through the repository, and checks every answer against the repository queries
+ * it stands in for: existsOverlapping and the monthly auto-approved count.
+ */
+@SpringBootTest
+class LeaveTimelineCacheTest extends AbstractEmbeddedPostgresTest {
+
+	private static final int SEEDS = 20;
+	private static final int STEPS = 300;
+	private static final int EMPLOYEES = 8;
+	private static final int YEAR = 2030;
+	private static final LocalDate YEAR_START = LocalDate.of(YEAR, 1, 1);
+	private static final List<LeaveStatus> ACTIVE = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private LeaveRequestRepository leaveRequestRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void answersMatchRepositoryQueriesOverRandomHistories() {
+		List<Long> employeeIds = new ArrayList<>();
+		for (int i = 0; i < EMPLOYEES; i++) {
+			employeeIds.add(register("timeline-" + i));
+		}
+
+		for (long seed = 1; seed <= SEEDS; seed++) {
+			jdbcTemplate.update("DELETE FROM leave_request WHERE employee_id IN (" +
+					String.join(",", employeeIds.stream().map(String::valueOf).toList()) + ")");
+			runHistory(seed, employeeIds);
+		}
+	}
+
+	private void runHistory(long seed, List<Long> employeeIds) {
+		Random random = new Random(seed);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<Long> leaveIds = new ArrayList<>();
+
+		LeaveTimelineCache cache = new LeaveTimelineCache(leaveRequestRepository);
+		// Fewer slots than employees, so LRU eviction and reloads are exercised too
+		ReflectionTestUtils.setField(cache, "maxEmployees", 3);
+
+		for (int step = 0; step < STEPS; step++) {
+			Long employeeId = employeeIds.get(random.nextInt(EMPLOYEES));
+			String context = "seed " + seed + ", step " + step + ", employee " + employeeId;
+
+			switch (random.nextInt(6)) {
+				case 0, 1 -> {
+					LocalDate start = YEAR_START.plusDays(random.nextInt(365));
+					LocalDate end = start.plusDays(random.nextInt(6));
+					boolean autoApproved = random.nextBoolean();
+					apply(transaction, cache, employeeId, start, end, autoApproved).ifPresent(leaveIds::add);
+				}
+				case 2 -> changeStatus(random, transaction, cache, leaveIds, LeaveStatus.PENDING, LeaveStatus.APPROVED);
+				case 3 -> changeStatus(random, transaction, cache, leaveIds, LeaveStatus.PENDING, LeaveStatus.REJECTED);
+				case 4 -> changeStatus(random, transaction, cache, leaveIds, null, LeaveStatus.CANCELLED);
+				default -> {
+					if (random.nextInt(10) == 0) {
+						cache.evict(employeeId);
+					}
+				}
+			}
+
+			// Ranges may run past the year end, and months cover the whole year
+			LocalDate from = YEAR_START.plusDays(random.nextInt(370) - 3);
+			LocalDate to = from.plusDays(random.nextInt(10));
+			assertThat(cache.mayOverlap(employeeId, from, to))
+					.as("overlap of %s..%s at %s", from, to, context)
+					.isEqualTo(leaveRequestRepository.existsOverlapping(employeeId, from, to, null, ACTIVE));
+
+			YearMonth month = YearMonth.of(YEAR, 1 + random.nextInt(12));
+			assertThat((long) cache.countAutoApproved(employeeId, YEAR, month.getMonthValue()))
+					.as("auto-approved count for %s at %s", month, context)
+					.isEqualTo(leaveRequestRepository.countAutoApproved(
+							employeeId, month.atDay(1), month.atEndOfMonth()));
+		}
+	}
+
+	/**
+	 * Insert a leave the way applyLeave does; the exclusion constraint rejects overlapping active leaves
+	 */
+	private Optional<Long> apply(TransactionTemplate transaction, LeaveTimelineCache cache, Long employeeId,
+								   LocalDate start, LocalDate end, boolean autoApproved) {
+		try {
+			return Optional.of(transaction.execute(status -> {
+				Employee employee = employeeRepository.getReferenceById(employeeId);
+				LeaveRequest leave = new LeaveRequest();
+				leave.setEmployee(employee);
+				leave.setStartDate(start);
+				leave.setEndDate(end);
+				BigDecimal days = BigDecimal.valueOf(end.toEpochDay() - start.toEpochDay() + 1);
+				leave.setTotalDays(days);
+				leave.setWorkingDays(days);
+				leave.setReason("Timeline cache test");
+				leave.setStatus(autoApproved ? LeaveStatus.APPROVED : LeaveStatus.PENDING);
+				leave.setAutoApproved(autoApproved);
+				LeaveRequest saved = leaveRequestRepository.saveAndFlush(leave);
+				cache.recordChange(saved);
+				return saved.getId();
+			}));
+		} catch (DataIntegrityViolationException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Moves a random leave in the expected status (any active one when null) to the new status
+	 */
+	private void changeStatus(Random random, TransactionTemplate transaction, LeaveTimelineCache cache,
+							  List<Long> leaveIds, LeaveStatus expected, LeaveStatus newStatus) {
+		if (leaveIds.isEmpty()) {
+			return;
+		}
+		Long id = leaveIds.get(random.nextInt(leaveIds.size()));
+		transaction.executeWithoutResult(status -> {
+			LeaveRequest leave = leaveRequestRepository.findById(id).orElseThrow();
+			boolean matches = expected != null ? leave.getStatus() == expected : ACTIVE.contains(leave.getStatus());
+			if (matches) {
+				leave.setStatus(newStatus);
+				cache.recordChange(leaveRequestRepository.save(leave));
+			}
+		});
+	}
+
+	private Long register(String username) {
+		RegisterRequestDTO request = new RegisterRequestDTO();
+		request.setUsername(username);
+		request.setPassword("secret123");
+		request.setRole(Role.EMPLOYEE);
+		request.setName("Timeline " + username);
+		request.setEmail(username + "@example.com");
+		authService.register(request);
+		return jdbcTemplate.queryForObject(
+				"SELECT e.id FROM employee e JOIN users u ON u.id = e.user_id WHERE u.username = ?",
+				Long.class, username);
+	}
+}
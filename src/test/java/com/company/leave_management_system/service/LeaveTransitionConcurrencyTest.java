@@ -0,0 +1,190 @@
+package com.company.leave_management_system.service;
+
+import com.company.leave_management_system.AbstractEmbeddedPostgresTest;
+import com.company.leave_management_system.dto.BulkLeaveResultDTO;
+import com.company.leave_management_system.dto.LeaveRequestDTO;
+import com.company.leave_management_system.dto.LeaveResponseDTO;
+import com.company.leave_management_system.dto.RegisterRequestDTO;
+import com.company.leave_management_system.enums.LeaveStatus;
+import com.company.leave_management_system.enums.Role;
+import com.company.leave_management_system.exception.LeaveStateConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires approve, reject, cancel and the bulk approve/reject at the same PENDING leave from
+ * parallel threads and checks that exactly one transition wins, single calls that lose get a
+ * state conflict, bulk calls that lose report it per id instead of failing, and the balance
+ * ledger nets to what the winning transition implies.
+ */
+@SpringBootTest
+class LeaveTransitionConcurrencyTest extends AbstractEmbeddedPostgresTest {
+
+	private static final int ROUNDS = 20;
+	private static final int CALLERS_PER_ACTION = 4;
+	private static final String ADMIN = "admin";
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private LeaveRequestService leaveRequestService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(5 * CALLERS_PER_ACTION);
+
+	@AfterEach
+	void shutDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void exactlyOneConcurrentTransitionWins() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			String employee = "transition-" + round;
+			register(employee);
+
+			// Starts today, so a won approval cannot also be cancelled (cancel needs a future start)
+			LeaveResponseDTO leave = as(employee, Role.EMPLOYEE, () -> leaveRequestService.applyLeave(leaveDto()));
+			assertThat(leave.getStatus()).isEqualTo(LeaveStatus.PENDING);
+
+			List<Outcome> outcomes = race(leave.getId(), employee);
+
+			List<Outcome> wins = outcomes.stream().filter(Outcome::won).toList();
+			assertThat(wins).as("round %d winners", round).hasSize(1);
+			LeaveStatus winner = wins.get(0).status;
+
+			assertThat(outcomes.stream().filter(o -> !o.won() && !o.bulk))
+					.as("round %d single-call losers", round)
+					.allSatisfy(o -> assertThat(o.failure).isInstanceOf(LeaveStateConflictException.class));
+			assertThat(outcomes.stream().filter(o -> !o.won() && o.bulk))
+					.as("round %d bulk losers", round)
+					.allSatisfy(o -> {
+						assertThat(o.failure).isNull();
+						assertThat(o.status).isEqualTo(winner);
+					});
+
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT status FROM leave_request WHERE id = ?", String.class, leave.getId()))
+					.isEqualTo(winner.name());
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT version FROM leave_request WHERE id = ?", Long.class, leave.getId()))
+					.isEqualTo(1L);
+
+			// Apply charged the days; only an approval keeps them charged
+			BigDecimal expectedUsed = winner == LeaveStatus.APPROVED ? leave.getWorkingDays() : BigDecimal.ZERO;
+			assertThat(ledgerUsed(leave.getEmployeeId(), LocalDate.now().getYear()))
+					.as("round %d ledger after %s", round, winner)
+					.isEqualByComparingTo(expectedUsed);
+		}
+	}
+
+	private List<Outcome> race(Long leaveId, String employee) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Outcome>> futures = new ArrayList<>();
+		List<Boolean> bulk = new ArrayList<>();
+		for (int i = 0; i < CALLERS_PER_ACTION; i++) {
+			futures.add(executor.submit(gated(start, ADMIN, Role.ADMIN,
+					() -> Outcome.of(leaveRequestService.approveLeave(leaveId)))));
+			futures.add(executor.submit(gated(start, ADMIN, Role.ADMIN,
+					() -> Outcome.of(leaveRequestService.rejectLeave(leaveId)))));
+			futures.add(executor.submit(gated(start, employee, Role.EMPLOYEE,
+					() -> Outcome.of(leaveRequestService.cancelLeave(leaveId)))));
+			futures.add(executor.submit(gated(start, ADMIN, Role.ADMIN,
+					() -> Outcome.of(leaveRequestService.approveLeaves(List.of(leaveId)).get(0)))));
+			futures.add(executor.submit(gated(start, ADMIN, Role.ADMIN,
+					() -> Outcome.of(leaveRequestService.rejectLeaves(List.of(leaveId)).get(0)))));
+			bulk.addAll(List.of(false, false, false, true, true));
+		}
+		start.countDown();
+
+		List<Outcome> outcomes = new ArrayList<>();
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				outcomes.add(futures.get(i).get());
+			} catch (ExecutionException e) {
+				outcomes.add(new Outcome(false, null, e.getCause(), bulk.get(i)));
+			}
+		}
+		return outcomes;
+	}
+
+	private <T> Callable<T> gated(CountDownLatch start, String username, Role role, Supplier<T> action) {
+		return () -> {
+			start.await();
+			return as(username, role, action);
+		};
+	}
+
+	private static <T> T as(String username, Role role, Supplier<T> action) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+		try {
+			return action.get();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private void register(String username) {
+		RegisterRequestDTO request = new RegisterRequestDTO();
+		request.setUsername(username);
+		request.setPassword("secret123");
+		request.setRole(Role.EMPLOYEE);
+		request.setName("Transition " + username);
+		request.setEmail(username + "@example.com");
+		authService.register(request);
+	}
+
+	private static LeaveRequestDTO leaveDto() {
+		LeaveRequestDTO dto = new LeaveRequestDTO();
+		dto.setStartDate(LocalDate.now());
+		// A week always holds more working days than the auto-approval threshold
+		dto.setEndDate(LocalDate.now().plusDays(6));
+		dto.setReason("Concurrency test");
+		return dto;
+	}
+
+	private BigDecimal ledgerUsed(Long employeeId, int year) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COALESCE(SUM(used_delta), 0) FROM leave_balance_ledger WHERE employee_id = ? AND year = ?",
+				BigDecimal.class, employeeId, year);
+	}
+
+	/**
+	 * What one caller saw: whether its transition went through, the status it reported,
+	 * and the exception it threw, if any
+	 */
+	private record Outcome(boolean won, LeaveStatus status, Throwable failure, boolean bulk) {
+
+		static Outcome of(LeaveResponseDTO response) {
+			return new Outcome(true, response.getStatus(), null, false);
+		}
+
+		static Outcome of(BulkLeaveResultDTO result) {
+			return new Outcome(result.isSuccess(), result.getStatus(), null, true);
+		}
+	}
+}